@@ -4,17 +4,21 @@ import me.kuwg.clarity.ast.AST;
 import me.kuwg.clarity.compiler.ASTData;
 import me.kuwg.clarity.compiler.ASTLoader;
 import me.kuwg.clarity.compiler.ASTSaver;
+import me.kuwg.clarity.compiler.CompileCache;
 import me.kuwg.clarity.compiler.CompilerVersion;
 import me.kuwg.clarity.info.ClarityRunningInformation;
 import me.kuwg.clarity.installer.modules.ClarityModuleInstaller;
 import me.kuwg.clarity.installer.sys.ClarityInstaller;
 import me.kuwg.clarity.installer.sys.OS;
+import me.kuwg.clarity.interpreter.AsyncScheduler;
 import me.kuwg.clarity.interpreter.Interpreter;
 import me.kuwg.clarity.nmh.NativeMethodHandler;
 import me.kuwg.clarity.parser.ASTParser;
 import me.kuwg.clarity.parser.Keyword;
+import me.kuwg.clarity.register.Register;
 import me.kuwg.clarity.token.Token;
 import me.kuwg.clarity.token.Tokenizer;
+import me.kuwg.clarity.util.ConsoleOutput;
 
 import java.io.File;
 import java.io.IOException;
@@ -41,6 +45,7 @@ public final class Clarity {
     public static void main(final String[] args) {
         ARGS = args;
         INFORMATION = new ClarityRunningInformation();
+        if (INFORMATION.getOption("bufferedoutput")) ConsoleOutput.buffer();
         new Thread("Clarity Main Thread") {
             @Override
             public void run() {
@@ -55,6 +60,7 @@ public final class Clarity {
             void exec() throws IOException {
 
                 SPEED_INFO = INFORMATION.getOption("speedinfo");
+                Register.setEnabled(INFORMATION.getOption("register"));
 
                 if (INFORMATION.getOption("startinfo")) {
                     long startTime = ManagementFactory.getRuntimeMXBean().getStartTime();
@@ -282,11 +288,26 @@ public final class Clarity {
 
         if (i > 0 && fileName.substring(i + 1).equals("cclr")) {
             return loadASTFromFile(file);
+        } else if (INFORMATION.getOption("cache")) {
+            return parseCachedASTFromSource(file);
         } else {
             return parseASTFromSource(file);
         }
     }
 
+    private static AST parseCachedASTFromSource(File file) throws IOException {
+        byte[] source = Files.readAllBytes(file.toPath());
+        CompileCache cache = new CompileCache(file, source);
+
+        AST ast = cache.load();
+        if (ast != null) return ast;
+
+        cache.record();
+        ast = parseASTFromSource(file, source);
+        cache.save(ast);
+        return ast;
+    }
+
     private static AST loadASTFromFile(File file) {
         ASTLoader loader = new ASTLoader(file);
         try {
@@ -298,7 +319,11 @@ public final class Clarity {
     }
 
     private static AST parseASTFromSource(File file) throws IOException {
-        List<Token> tokens = Tokenizer.tokenize(new String(Files.readAllBytes(file.toPath())));
+        return parseASTFromSource(file, Files.readAllBytes(file.toPath()));
+    }
+
+    private static AST parseASTFromSource(File file, byte[] source) {
+        List<Token> tokens = Tokenizer.tokenize(new String(source));
         ASTParser parser = new ASTParser(file.getAbsolutePath(), file.getName(), tokens);
         return parser.parseI();
     }
@@ -338,7 +363,7 @@ public final class Clarity {
     }
 
     private static void saveASTToFile(AST ast, String output) {
-        ASTSaver saver = new ASTSaver(ast);
+        ASTSaver saver = new ASTSaver(ast, INFORMATION.getOption("compress"));
         try {
             saver.save(new File(output));
         } catch (IOException e) {
@@ -407,6 +432,11 @@ public final class Clarity {
                 }
             }
 
+            // async functions and blocks run on daemon threads of the scheduler
+            if (AsyncScheduler.awaitIdle()) {
+                hasActiveNonDaemonThread = true;
+            }
+
             if (!hasActiveNonDaemonThread) {
                 break;
             }
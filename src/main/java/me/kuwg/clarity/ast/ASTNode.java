@@ -4,6 +4,8 @@ import me.kuwg.clarity.compiler.ASTNodeCompiler;
 import me.kuwg.clarity.compiler.CompilerVersion;
 import me.kuwg.clarity.compiler.stream.ASTInputStream;
 import me.kuwg.clarity.compiler.stream.ASTOutputStream;
+import me.kuwg.clarity.interpreter.Interpreter;
+import me.kuwg.clarity.interpreter.context.Context;
 
 import java.io.IOException;
 
@@ -23,6 +25,14 @@ public abstract class ASTNode implements ASTNodeCompiler {
         return (T) this;
     }
 
+    /**
+     * Evaluates this node, each node type dispatches straight to its method in the {@link Interpreter}.
+     * Nodes that can't be run (parameters, the AST itself...) keep this default.
+     */
+    public Object evaluate(final Interpreter interpreter, final Context context) {
+        throw new UnsupportedOperationException("Unsupported node: " + getClass().getSimpleName() + ", val=" + this);
+    }
+
     public abstract void print(final StringBuilder sb, final String indent);
 
     protected abstract void save0(final ASTOutputStream out) throws IOException;
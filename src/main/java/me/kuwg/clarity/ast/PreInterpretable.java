@@ -4,4 +4,9 @@ import me.kuwg.clarity.ast.nodes.block.BlockNode;
 
 public interface PreInterpretable {
     BlockNode getBlock();
+
+    /**
+     * Replaces the block, blocks are frozen so pre-interpretation builds a new one instead of changing it.
+     */
+    void setBlock(BlockNode block);
 }
@@ -5,6 +5,8 @@ import me.kuwg.clarity.ast.PreInterpretable;
 import me.kuwg.clarity.compiler.CompilerVersion;
 import me.kuwg.clarity.compiler.stream.ASTInputStream;
 import me.kuwg.clarity.compiler.stream.ASTOutputStream;
+import me.kuwg.clarity.interpreter.Interpreter;
+import me.kuwg.clarity.interpreter.context.Context;
 
 import java.io.IOException;
 
@@ -23,6 +25,15 @@ public class AwaitBlockNode extends ASTNode implements PreInterpretable {
         return block;
     }
 
+    public final void setBlock(final BlockNode block) {
+        this.block = block;
+    }
+
+    @Override
+    public Object evaluate(final Interpreter interpreter, final Context context) {
+        return interpreter.interpretAwaitBlock(this, context);
+    }
+
     @Override
     public void print(final StringBuilder sb, final String indent) {
         sb.append(indent).append("Async Block:\n");
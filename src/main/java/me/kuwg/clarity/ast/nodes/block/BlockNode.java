@@ -4,29 +4,104 @@ import me.kuwg.clarity.ast.ASTNode;
 import me.kuwg.clarity.compiler.CompilerVersion;
 import me.kuwg.clarity.compiler.stream.ASTInputStream;
 import me.kuwg.clarity.compiler.stream.ASTOutputStream;
+import me.kuwg.clarity.interpreter.Interpreter;
+import me.kuwg.clarity.interpreter.context.Context;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Spliterator;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Spliterators;
 import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
 
+/**
+ * A list of statements, frozen once it is built: blocks changed after parsing (pre-interpretation, optimization) are
+ * replaced by new ones, see {@link #map(UnaryOperator)}.
+ */
 public class BlockNode extends ASTNode implements Iterable<ASTNode> {
 
-    private final List<ASTNode> children = new CopyOnWriteArrayList<>();
+    private static final ASTNode[] EMPTY = new ASTNode[0];
 
-    public void addChild(final ASTNode child) {
-        children.add(child);
+    private ASTNode[] children;
+    private String[] frame;
+
+    public BlockNode() {
+        this.children = EMPTY;
+    }
+
+    public BlockNode(final List<? extends ASTNode> children) {
+        this.children = children.isEmpty() ? EMPTY : children.toArray(EMPTY);
     }
 
+    public BlockNode(final ASTNode... children) {
+        this.children = children.length == 0 ? EMPTY : children.clone();
+    }
+
+    /**
+     * @return an unmodifiable view of the statements.
+     */
     public final List<ASTNode> getChildren() {
-        return children;
+        return Collections.unmodifiableList(Arrays.asList(children));
+    }
+
+    public final int size() {
+        return children.length;
+    }
+
+    public final ASTNode get(final int index) {
+        return children[index];
+    }
+
+    /**
+     * Returns a block with each statement replaced by the given function, dropping the ones it maps to null, and the
+     * same frame. This block is returned when nothing changed.
+     */
+    public final BlockNode map(final UnaryOperator<ASTNode> function) {
+        ASTNode[] mapped = null;
+        int size = 0;
+
+        for (int i = 0; i < children.length; i++) {
+            final ASTNode child = function.apply(children[i]);
+            if (mapped == null && child != children[i]) {
+                mapped = new ASTNode[children.length];
+                System.arraycopy(children, 0, mapped, 0, i);
+                size = i;
+            }
+            if (mapped != null && child != null) mapped[size++] = child;
+        }
+
+        if (mapped == null) return this;
+
+        final BlockNode block = new BlockNode();
+        block.children = size == 0 ? EMPTY : Arrays.copyOf(mapped, size);
+        block.frame = frame;
+        block.setLine(getLine());
+        return block;
+    }
+
+    /**
+     * @return the names of the slotted variables of the scope this block opens, or null if it has none.
+     */
+    public final String[] getFrame() {
+        return frame;
+    }
+
+    public final void setFrame(final String[] frame) {
+        this.frame = frame;
     }
 
     @Override
     public String toString() {
-        return "BlockNode{" + "children=" + children + '}';
+        return "BlockNode{" + "children=" + Arrays.toString(children) + '}';
+    }
+
+    @Override
+    public Object evaluate(final Interpreter interpreter, final Context context) {
+        return interpreter.interpretBlock(this, context);
     }
 
     @Override
@@ -39,31 +114,47 @@ public class BlockNode extends ASTNode implements Iterable<ASTNode> {
 
     @Override
     public void save0(final ASTOutputStream out) throws IOException {
-        out.writeNodeList(children);
+        out.writeNodeList(getChildren());
     }
 
     @Override
     public void load0(final ASTInputStream in, final CompilerVersion version) throws IOException {
-        this.children.clear();
-        this.children.addAll(in.readNodeList(version));
+        final List<? extends ASTNode> children = in.readNodeList(version);
+        this.children = children.isEmpty() ? EMPTY : children.toArray(EMPTY);
     }
 
     @Override
     public Iterator<ASTNode> iterator() {
-        return children.iterator();
+        final ASTNode[] children = this.children;
+        return new Iterator<ASTNode>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < children.length;
+            }
+
+            @Override
+            public ASTNode next() {
+                if (index >= children.length) throw new NoSuchElementException();
+                return children[index++];
+            }
+        };
     }
 
     @Override
     public void forEach(final Consumer<? super ASTNode> action) {
-        children.forEach(action);
+        for (final ASTNode child : children) {
+            action.accept(child);
+        }
     }
 
     @Override
     public Spliterator<ASTNode> spliterator() {
-        return children.spliterator();
+        return Spliterators.spliterator(children, Spliterator.ORDERED | Spliterator.IMMUTABLE);
     }
 
     public boolean isEmpty() {
-        return children.isEmpty();
+        return children.length == 0;
     }
 }
@@ -4,6 +4,8 @@ import me.kuwg.clarity.ast.ASTNode;
 import me.kuwg.clarity.compiler.CompilerVersion;
 import me.kuwg.clarity.compiler.stream.ASTInputStream;
 import me.kuwg.clarity.compiler.stream.ASTOutputStream;
+import me.kuwg.clarity.interpreter.Interpreter;
+import me.kuwg.clarity.interpreter.context.Context;
 
 import java.io.IOException;
 
@@ -28,6 +30,11 @@ public class ConditionedReturnNode extends ASTNode {
         return condition;
     }
 
+    @Override
+    public Object evaluate(final Interpreter interpreter, final Context context) {
+        return interpreter.interpretConditionedReturn(this, context);
+    }
+
     @Override
     public void print(final StringBuilder sb, final String indent) {
         sb.append(indent).append("Conditioned Return:\n");
@@ -4,10 +4,19 @@ import me.kuwg.clarity.ast.ASTNode;
 import me.kuwg.clarity.compiler.CompilerVersion;
 import me.kuwg.clarity.compiler.stream.ASTInputStream;
 import me.kuwg.clarity.compiler.stream.ASTOutputStream;
+import me.kuwg.clarity.interpreter.Interpreter;
+import me.kuwg.clarity.interpreter.context.Context;
 
 import java.io.IOException;
 
+import static me.kuwg.clarity.interpreter.definition.ContinueValue.CONTINUE;
+
 public class ContinueNode extends ASTNode {
+    @Override
+    public Object evaluate(final Interpreter interpreter, final Context context) {
+        return CONTINUE;
+    }
+
     @Override
     public void print(final StringBuilder sb, final String indent) {
         sb.append(indent).append("Continue");
@@ -6,6 +6,8 @@ import me.kuwg.clarity.ast.nodes.function.declare.ParameterNode;
 import me.kuwg.clarity.compiler.CompilerVersion;
 import me.kuwg.clarity.compiler.stream.ASTInputStream;
 import me.kuwg.clarity.compiler.stream.ASTOutputStream;
+import me.kuwg.clarity.interpreter.Interpreter;
+import me.kuwg.clarity.interpreter.context.Context;
 
 import java.io.IOException;
 import java.util.List;
@@ -27,10 +29,19 @@ public class LambdaBlockNode extends ASTNode implements PreInterpretable {
         return block;
     }
 
+    public final void setBlock(final BlockNode block) {
+        this.block = block;
+    }
+
     public final List<ParameterNode> getParams() {
         return params;
     }
 
+    @Override
+    public Object evaluate(final Interpreter interpreter, final Context context) {
+        return interpreter.interpretLambdaBlock(this, context);
+    }
+
     @Override
     public void print(final StringBuilder sb, final String indent) {
         sb.append(indent).append("Lambda Block: ").append("\n");
@@ -7,6 +7,8 @@ import me.kuwg.clarity.ast.nodes.function.declare.FunctionDeclarationNode;
 import me.kuwg.clarity.compiler.CompilerVersion;
 import me.kuwg.clarity.compiler.stream.ASTInputStream;
 import me.kuwg.clarity.compiler.stream.ASTOutputStream;
+import me.kuwg.clarity.interpreter.Interpreter;
+import me.kuwg.clarity.interpreter.context.Context;
 
 import java.io.IOException;
 import java.util.List;
@@ -53,6 +55,10 @@ public class ClassDeclarationNode extends ASTNode implements PreInterpretable {
         return body;
     }
 
+    public final void setBlock(final BlockNode block) {
+        this.body = block;
+    }
+
     public final String getInheritedClass() {
         return inheritedClass;
     }
@@ -61,6 +67,11 @@ public class ClassDeclarationNode extends ASTNode implements PreInterpretable {
         return extendedClass;
     }
 
+    @Override
+    public Object evaluate(final Interpreter interpreter, final Context context) {
+        return interpreter.interpretClassDeclaration(this, context);
+    }
+
     @Override
     public void print(final StringBuilder sb, final String indent) {
         sb.append(indent).append("Class: ").append(name).append("\n");
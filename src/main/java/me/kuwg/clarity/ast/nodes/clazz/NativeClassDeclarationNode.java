@@ -7,6 +7,8 @@ import me.kuwg.clarity.ast.nodes.function.declare.FunctionDeclarationNode;
 import me.kuwg.clarity.compiler.CompilerVersion;
 import me.kuwg.clarity.compiler.stream.ASTInputStream;
 import me.kuwg.clarity.compiler.stream.ASTOutputStream;
+import me.kuwg.clarity.interpreter.Interpreter;
+import me.kuwg.clarity.interpreter.context.Context;
 
 import java.io.IOException;
 import java.util.List;
@@ -56,6 +58,15 @@ public class NativeClassDeclarationNode extends ASTNode implements PreInterpreta
         return body;
     }
 
+    public final void setBlock(final BlockNode block) {
+        this.body = block;
+    }
+
+    @Override
+    public Object evaluate(final Interpreter interpreter, final Context context) {
+        return interpreter.interpretNativeClassDeclaration(this, context);
+    }
+
     @Override
     public void print(final StringBuilder sb, final String indent) {
         sb.append(indent).append("Native Class: ").append(name).append("\n");
@@ -3,6 +3,7 @@ package me.kuwg.clarity.ast.nodes.clazz.cast;
 import me.kuwg.clarity.library.objects.VoidObject;
 import me.kuwg.clarity.library.objects.types.ClassObject;
 import me.kuwg.clarity.library.objects.types.LambdaObject;
+import me.kuwg.clarity.library.objects.types.PrimitiveArray;
 
 @SuppressWarnings("StaticInitializerReferencesSubClass")
 public class CastType {
@@ -44,23 +45,23 @@ public class CastType {
     public static CastType ofOrdinal(final int ordinal) {
         switch (ordinal) {
             case 0:
-                return new StrCastType();
+                return STR;
             case 1:
-                return new FloatCastType();
+                return FLOAT;
             case 2:
-                return new IntCastType();
+                return INT;
             case 3:
-                return new ArrCastType();
+                return ARR;
             case 4:
                 return new ClassCastType(null);
             case 5:
-                return new BoolCastType();
+                return BOOL;
             case 6:
                 return new VoidCastType();
             case 7:
                 return new LambdaCastType();
             case 8:
-                return new NumCastType();
+                return NUM;
             case 9:
                 return new NullCastType();
             default:
@@ -150,7 +151,7 @@ public class CastType {
 
         @Override
         public boolean is(final Object object) {
-            return object instanceof Object[];
+            return object instanceof Object[] || object instanceof PrimitiveArray;
         }
     }
 
@@ -8,6 +8,8 @@ import me.kuwg.clarity.ast.nodes.function.declare.VirtualFunctionDeclarationNode
 import me.kuwg.clarity.compiler.CompilerVersion;
 import me.kuwg.clarity.compiler.stream.ASTInputStream;
 import me.kuwg.clarity.compiler.stream.ASTOutputStream;
+import me.kuwg.clarity.interpreter.Interpreter;
+import me.kuwg.clarity.interpreter.context.Context;
 
 import java.io.IOException;
 import java.util.List;
@@ -39,6 +41,11 @@ public class VirtualClassDeclarationNode extends ASTNode implements PreInterpret
         return body;
     }
 
+    @Override
+    public void setBlock(final BlockNode block) {
+        this.body = block;
+    }
+
     public List<FunctionDeclarationNode> getConstructors() {
         return constructors;
     }
@@ -63,6 +70,11 @@ public class VirtualClassDeclarationNode extends ASTNode implements PreInterpret
         return virtualFunctions;
     }
 
+    @Override
+    public Object evaluate(final Interpreter interpreter, final Context context) {
+        return interpreter.interpretVirtualClassDeclaration(this, context);
+    }
+
     @Override
     public void print(final StringBuilder sb, final String indent) {
         sb.append(indent).append("Virtual Class: ").append(name).append("\n");
@@ -4,6 +4,8 @@ import me.kuwg.clarity.ast.ASTNode;
 import me.kuwg.clarity.compiler.CompilerVersion;
 import me.kuwg.clarity.compiler.stream.ASTInputStream;
 import me.kuwg.clarity.compiler.stream.ASTOutputStream;
+import me.kuwg.clarity.interpreter.Interpreter;
+import me.kuwg.clarity.interpreter.context.Context;
 
 import java.io.IOException;
 
@@ -11,11 +13,13 @@ public class BinaryExpressionNode extends ASTNode {
 
     private ASTNode left;
     private String operator;
+    private BinaryOperator op;
     private ASTNode right;
 
     public BinaryExpressionNode(final ASTNode left, final String operator, final ASTNode right) {
         this.left = left;
         this.operator = operator;
+        this.op = BinaryOperator.of(operator);
         this.right = right;
     }
 
@@ -31,6 +35,10 @@ public class BinaryExpressionNode extends ASTNode {
         return operator;
     }
 
+    public final BinaryOperator getOp() {
+        return op;
+    }
+
     public final ASTNode getRight() {
         return right;
     }
@@ -44,6 +52,11 @@ public class BinaryExpressionNode extends ASTNode {
                 '}';
     }
 
+    @Override
+    public Object evaluate(final Interpreter interpreter, final Context context) {
+        return interpreter.interpretBinaryExpression(this, context);
+    }
+
     @Override
     public void print(final StringBuilder sb, final String indent) {
         sb.append(indent).append("Binary Expression:\n");
@@ -76,6 +89,7 @@ public class BinaryExpressionNode extends ASTNode {
     public void load0(final ASTInputStream in, final CompilerVersion version) throws IOException {
         this.left = in.readNode(version);
         this.operator = in.readString();
+        this.op = BinaryOperator.of(operator);
         this.right = in.readNode(version);
     }
 }
\ No newline at end of file
@@ -0,0 +1,57 @@
+package me.kuwg.clarity.ast.nodes.expression;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Operator of a {@link BinaryExpressionNode}, resolved once when the node is parsed or loaded so the interpreter
+ * can switch on a constant instead of comparing strings on every evaluation.
+ */
+public enum BinaryOperator {
+    ADD("+"),
+    SUBTRACT("-"),
+    MULTIPLY("*"),
+    DIVIDE("/"),
+    MODULO("%"),
+    POWER("^"),
+    LESS("<"),
+    GREATER(">"),
+    LESS_EQUAL("<="),
+    GREATER_EQUAL(">="),
+    EQUAL("=="),
+    NOT_EQUAL("!="),
+    AND("&&"),
+    OR("||"),
+    XOR("^^"),
+    SHIFT_RIGHT(">>"),
+    SHIFT_LEFT("<<"),
+    UNSIGNED_SHIFT_RIGHT(">>>"),
+    BITWISE_AND("&"),
+    BITWISE_OR("|"),
+    /**
+     * Any operator token that is not a binary operator, reported as unsupported by the interpreter.
+     */
+    UNKNOWN(null);
+
+    private static final Map<String, BinaryOperator> BY_SYMBOL = new HashMap<>();
+
+    static {
+        for (final BinaryOperator operator : values()) {
+            if (operator.symbol != null) BY_SYMBOL.put(operator.symbol, operator);
+        }
+    }
+
+    private final String symbol;
+
+    BinaryOperator(final String symbol) {
+        this.symbol = symbol;
+    }
+
+    public final String getSymbol() {
+        return symbol;
+    }
+
+    public static BinaryOperator of(final String symbol) {
+        return BY_SYMBOL.getOrDefault(symbol, UNKNOWN);
+    }
+}
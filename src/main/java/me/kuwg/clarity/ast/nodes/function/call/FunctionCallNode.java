@@ -4,6 +4,9 @@ import me.kuwg.clarity.ast.ASTNode;
 import me.kuwg.clarity.compiler.CompilerVersion;
 import me.kuwg.clarity.compiler.stream.ASTInputStream;
 import me.kuwg.clarity.compiler.stream.ASTOutputStream;
+import me.kuwg.clarity.interpreter.Interpreter;
+import me.kuwg.clarity.interpreter.context.Context;
+import me.kuwg.clarity.interpreter.context.FunctionCache;
 
 import java.io.IOException;
 import java.util.List;
@@ -13,6 +16,8 @@ public class FunctionCallNode extends ASTNode {
     private ASTNode caller;
     private List<ASTNode> params;
 
+    private final FunctionCache functionCache = new FunctionCache();
+
     public FunctionCallNode(final ASTNode caller, final List<ASTNode> params) {
         this.caller = caller;
         this.params = params;
@@ -29,6 +34,15 @@ public class FunctionCallNode extends ASTNode {
         return params;
     }
 
+    public final FunctionCache getFunctionCache() {
+        return functionCache;
+    }
+
+    @Override
+    public Object evaluate(final Interpreter interpreter, final Context context) {
+        return interpreter.interpretFunctionCall(this, context);
+    }
+
     @Override
     public void print(final StringBuilder sb, final String indent) {
         sb.append(indent).append("Function Call: ").append(caller).append("\n");
@@ -4,6 +4,9 @@ import me.kuwg.clarity.ast.ASTNode;
 import me.kuwg.clarity.compiler.CompilerVersion;
 import me.kuwg.clarity.compiler.stream.ASTInputStream;
 import me.kuwg.clarity.compiler.stream.ASTOutputStream;
+import me.kuwg.clarity.interpreter.Interpreter;
+import me.kuwg.clarity.interpreter.context.Context;
+import me.kuwg.clarity.interpreter.context.FunctionCache;
 
 import java.io.IOException;
 import java.util.List;
@@ -12,6 +15,8 @@ public class LocalFunctionCallNode extends ASTNode {
     private String functionName;
     private List<ASTNode> params;
 
+    private final FunctionCache functionCache = new FunctionCache();
+
     public LocalFunctionCallNode(final String functionName, final List<ASTNode> params) {
         this.functionName = functionName;
         this.params = params;
@@ -28,6 +33,15 @@ public class LocalFunctionCallNode extends ASTNode {
         return params;
     }
 
+    public final FunctionCache getFunctionCache() {
+        return functionCache;
+    }
+
+    @Override
+    public Object evaluate(final Interpreter interpreter, final Context context) {
+        return interpreter.interpretLocalFunctionCall(this, context);
+    }
+
     @Override
     public void print(final StringBuilder sb, final String indent) {
         sb.append(indent).append("Function Call: ").append(functionName).append("\n");
@@ -6,6 +6,10 @@ import me.kuwg.clarity.ast.nodes.block.BlockNode;
 import me.kuwg.clarity.compiler.CompilerVersion;
 import me.kuwg.clarity.compiler.stream.ASTInputStream;
 import me.kuwg.clarity.compiler.stream.ASTOutputStream;
+import me.kuwg.clarity.compiler.stream.LazyNode;
+import me.kuwg.clarity.interpreter.Interpreter;
+import me.kuwg.clarity.interpreter.context.Context;
+import me.kuwg.clarity.parser.ScopeResolver;
 
 import java.io.IOException;
 import java.util.List;
@@ -16,7 +20,8 @@ public class FunctionDeclarationNode extends ASTNode implements PreInterpretable
     private String typeDefault;
     private boolean isStatic, isConst, isLocal, isAsync;
     protected List<ParameterNode> parameterNodes;
-    protected BlockNode block;
+    protected volatile BlockNode block;
+    private volatile LazyNode lazyBlock;
 
     public FunctionDeclarationNode(final String functionName, final String typeDefault, final boolean isStatic, final boolean isConst, final boolean isLocal, final boolean isAsync, final List<ParameterNode> parameterNodes, final BlockNode block) {
         this.functionName = functionName;
@@ -61,10 +66,41 @@ public class FunctionDeclarationNode extends ASTNode implements PreInterpretable
         return parameterNodes;
     }
 
+    /**
+     * Returns the body of the function, decoding and resolving it first if it was loaded lazily from a compiled file.
+     */
     public final BlockNode getBlock() {
+        if (lazyBlock != null) {
+            synchronized (this) {
+                final LazyNode lazy = lazyBlock;
+                if (lazy != null) {
+                    final BlockNode loaded = (BlockNode) lazy.load();
+                    ScopeResolver.resolveFunction(parameterNodes, loaded);
+                    this.block = loaded;
+                    this.lazyBlock = null;
+                }
+            }
+        }
         return block;
     }
 
+    public final synchronized void setBlock(final BlockNode block) {
+        this.block = block;
+        this.lazyBlock = null;
+    }
+
+    /**
+     * Returns whether the body of the function is decoded, see {@link #getBlock()}.
+     */
+    public final boolean isLoaded() {
+        return lazyBlock == null;
+    }
+
+    @Override
+    public Object evaluate(final Interpreter interpreter, final Context context) {
+        return interpreter.interpretFunctionDeclaration(this, context);
+    }
+
     @Override
     public void print(final StringBuilder sb, final String indent) {
         sb.append(indent).append("Function: ").append(functionName).append(typeDefault != null ? " (" + typeDefault + ")" : "").append("\n");
@@ -96,7 +132,7 @@ public class FunctionDeclarationNode extends ASTNode implements PreInterpretable
         }
 
         sb.append(indent).append("Body:\n");
-        block.print(sb, indent + "    ");
+        getBlock().print(sb, indent + "    ");
     }
 
     @Override
@@ -108,7 +144,7 @@ public class FunctionDeclarationNode extends ASTNode implements PreInterpretable
         out.writeBoolean(isLocal);
         out.writeBoolean(isAsync);
         out.writeNodeList(parameterNodes);
-        out.writeNode(block);
+        out.writeLazyNode(getBlock());
     }
 
     @Override
@@ -121,6 +157,10 @@ public class FunctionDeclarationNode extends ASTNode implements PreInterpretable
         this.isLocal = in.readBoolean();
         this.isAsync = in.readBoolean();
         this.parameterNodes = in.readNodeListNoCast(version);
-        this.block = (BlockNode) in.readNode(version);
+        if (version.isNewerThanOrEquals(CompilerVersion.V1_4)) {
+            this.lazyBlock = in.readLazyNode(version);
+        } else {
+            this.block = (BlockNode) in.readNode(version);
+        }
     }
 }
@@ -32,6 +32,10 @@ public class IncludeNode extends ASTNode implements PreInterpretable {
         return included;
     }
 
+    public final void setBlock(final BlockNode block) {
+        this.included = block;
+    }
+
     public final boolean isNative() {
         return isNative;
     }
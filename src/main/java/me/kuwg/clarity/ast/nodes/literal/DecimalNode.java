@@ -3,6 +3,8 @@ package me.kuwg.clarity.ast.nodes.literal;
 import me.kuwg.clarity.compiler.CompilerVersion;
 import me.kuwg.clarity.compiler.stream.ASTInputStream;
 import me.kuwg.clarity.compiler.stream.ASTOutputStream;
+import me.kuwg.clarity.interpreter.Interpreter;
+import me.kuwg.clarity.interpreter.context.Context;
 
 import java.io.IOException;
 
@@ -22,6 +24,11 @@ public class DecimalNode extends AbstractNumberNode {
         return value;
     }
 
+    @Override
+    public Object evaluate(final Interpreter interpreter, final Context context) {
+        return value;
+    }
+
     @Override
     public void print(final StringBuilder sb, final String indent) {
         sb.append(indent).append("Decimal:\n");
@@ -3,6 +3,9 @@ package me.kuwg.clarity.ast.nodes.literal;
 import me.kuwg.clarity.compiler.CompilerVersion;
 import me.kuwg.clarity.compiler.stream.ASTInputStream;
 import me.kuwg.clarity.compiler.stream.ASTOutputStream;
+import me.kuwg.clarity.interpreter.Interpreter;
+import me.kuwg.clarity.interpreter.context.Context;
+import me.kuwg.clarity.util.ValueCache;
 
 import java.io.IOException;
 
@@ -25,6 +28,11 @@ public class IntegerNode extends AbstractNumberNode {
         return value;
     }
 
+    @Override
+    public Object evaluate(final Interpreter interpreter, final Context context) {
+        return ValueCache.box(value);
+    }
+
     @Override
     public void print(final StringBuilder sb, final String indent) {
         sb.append(indent).append("Integer:\n");
@@ -4,9 +4,13 @@ import me.kuwg.clarity.ast.ASTNode;
 import me.kuwg.clarity.compiler.CompilerVersion;
 import me.kuwg.clarity.compiler.stream.ASTInputStream;
 import me.kuwg.clarity.compiler.stream.ASTOutputStream;
+import me.kuwg.clarity.interpreter.Interpreter;
+import me.kuwg.clarity.interpreter.context.Context;
 
 import java.io.IOException;
 
+import static me.kuwg.clarity.library.objects.VoidObject.VOID_RETURN;
+
 public class VoidNode extends ASTNode {
 
     public VoidNode() {
@@ -14,6 +18,11 @@ public class VoidNode extends ASTNode {
     }
 
 
+    @Override
+    public Object evaluate(final Interpreter interpreter, final Context context) {
+        return VOID_RETURN;
+    }
+
     @Override
     public void print(final StringBuilder sb, final String indent) {
         sb.append(indent).append("Void\n");
@@ -4,6 +4,9 @@ import me.kuwg.clarity.ast.ASTNode;
 import me.kuwg.clarity.compiler.CompilerVersion;
 import me.kuwg.clarity.compiler.stream.ASTInputStream;
 import me.kuwg.clarity.compiler.stream.ASTOutputStream;
+import me.kuwg.clarity.interpreter.Interpreter;
+import me.kuwg.clarity.interpreter.context.Context;
+import me.kuwg.clarity.interpreter.context.FunctionCache;
 
 import java.io.IOException;
 import java.util.List;
@@ -14,6 +17,8 @@ public class MemberFunctionCallNode extends ASTNode {
     private String name;
     private List<ASTNode> params;
 
+    private final FunctionCache functionCache = new FunctionCache();
+
     public MemberFunctionCallNode(final ASTNode caller, final String name, final List<ASTNode> params) {
         this.caller = caller;
         this.name = name;
@@ -35,6 +40,15 @@ public class MemberFunctionCallNode extends ASTNode {
         return params;
     }
 
+    public final FunctionCache getFunctionCache() {
+        return functionCache;
+    }
+
+    @Override
+    public Object evaluate(final Interpreter interpreter, final Context context) {
+        return interpreter.interpretMemberFunctionCall(this, context);
+    }
+
     @Override
     public void print(final StringBuilder sb, final String indent) {
         sb.append(indent).append("Function Call: ").append("\n");
@@ -6,6 +6,8 @@ import me.kuwg.clarity.ast.nodes.block.BlockNode;
 import me.kuwg.clarity.compiler.CompilerVersion;
 import me.kuwg.clarity.compiler.stream.ASTInputStream;
 import me.kuwg.clarity.compiler.stream.ASTOutputStream;
+import me.kuwg.clarity.interpreter.Interpreter;
+import me.kuwg.clarity.interpreter.context.Context;
 
 import java.io.IOException;
 
@@ -15,6 +17,7 @@ public class ForNode extends ASTNode implements PreInterpretable {
     private ASTNode condition;
     private ASTNode incrementation;
     private BlockNode block;
+    private String[] frame;
 
     public ForNode(final ASTNode declaration, final ASTNode condition, final ASTNode incrementation, final BlockNode block) {
         this.declaration = declaration;
@@ -43,6 +46,26 @@ public class ForNode extends ASTNode implements PreInterpretable {
         return block;
     }
 
+    public final void setBlock(final BlockNode block) {
+        this.block = block;
+    }
+
+    /**
+     * @return the names of the slotted variables of the declaration scope, or null if it has none.
+     */
+    public final String[] getFrame() {
+        return frame;
+    }
+
+    public final void setFrame(final String[] frame) {
+        this.frame = frame;
+    }
+
+    @Override
+    public Object evaluate(final Interpreter interpreter, final Context context) {
+        return interpreter.interpretFor(this, context);
+    }
+
     @Override
     public void print(final StringBuilder sb, final String indent) {
         sb.append(indent).append("ForNode:\n");
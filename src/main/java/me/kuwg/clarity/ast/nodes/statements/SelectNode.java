@@ -3,12 +3,21 @@ package me.kuwg.clarity.ast.nodes.statements;
 import me.kuwg.clarity.ast.ASTNode;
 import me.kuwg.clarity.ast.PreInterpretable;
 import me.kuwg.clarity.ast.nodes.block.BlockNode;
+import me.kuwg.clarity.ast.nodes.literal.BooleanNode;
+import me.kuwg.clarity.ast.nodes.literal.DecimalNode;
+import me.kuwg.clarity.ast.nodes.literal.IntegerNode;
+import me.kuwg.clarity.ast.nodes.literal.LiteralNode;
 import me.kuwg.clarity.compiler.CompilerVersion;
 import me.kuwg.clarity.compiler.stream.ASTInputStream;
 import me.kuwg.clarity.compiler.stream.ASTOutputStream;
+import me.kuwg.clarity.interpreter.Interpreter;
+import me.kuwg.clarity.interpreter.context.Context;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class SelectNode extends ASTNode implements PreInterpretable {
 
@@ -16,6 +25,8 @@ public class SelectNode extends ASTNode implements PreInterpretable {
     private List<WhenNode> cases;
     private BlockNode defaultBlock;
 
+    private volatile Dispatch dispatch;
+
     public SelectNode(final ASTNode condition, final List<WhenNode> cases, final BlockNode defaultBlock) {
         this.condition = condition;
         this.cases = cases;
@@ -37,6 +48,32 @@ public class SelectNode extends ASTNode implements PreInterpretable {
         return defaultBlock;
     }
 
+    public final void setBlock(final BlockNode block) {
+        this.defaultBlock = block;
+    }
+
+    /**
+     * Finds the first case matching a value without evaluating the cases, when they are all constants. The table is
+     * built on first use: a jump table for compact integer ranges, otherwise a hash map.
+     *
+     * @param value The evaluated condition.
+     * @return The index of the first matching case, the number of cases if none matches, or -1 if some case isn't a
+     * constant and they must be evaluated in order.
+     */
+    public final int findCase(final Object value) {
+        Dispatch table = dispatch;
+        if (table == null) {
+            table = Dispatch.of(cases);
+            dispatch = table;
+        }
+        return table.find(value, cases.size());
+    }
+
+    @Override
+    public Object evaluate(final Interpreter interpreter, final Context context) {
+        return interpreter.interpretSelect(this, context);
+    }
+
     @Override
     public void print(final StringBuilder sb, final String indent) {
         sb.append(indent).append("SelectNode:\n");
@@ -92,6 +129,10 @@ public class SelectNode extends ASTNode implements PreInterpretable {
             return block;
         }
 
+        public final void setBlock(final BlockNode block) {
+            this.block = block;
+        }
+
         @Override
         public void print(final StringBuilder sb, final String indent) {
             sb.append(indent).append("CaseNode:\n");
@@ -117,4 +158,75 @@ public class SelectNode extends ASTNode implements PreInterpretable {
             this.block = (BlockNode) in.readNode(version);
         }
     }
+
+    private static final class Dispatch {
+
+        private static final Dispatch DYNAMIC = new Dispatch(null, 0, null);
+
+        private final Map<Object, Integer> indices;
+        private final long min;
+        private final int[] table;
+
+        private Dispatch(final Map<Object, Integer> indices, final long min, final int[] table) {
+            this.indices = indices;
+            this.min = min;
+            this.table = table;
+        }
+
+        private static Dispatch of(final List<WhenNode> cases) {
+            final Map<Object, Integer> indices = new HashMap<>();
+            boolean integers = true;
+            long min = Long.MAX_VALUE;
+            long max = Long.MIN_VALUE;
+
+            for (int i = 0; i < cases.size(); i++) {
+                final Object constant = constant(cases.get(i).getWhenExpression());
+                if (constant == null) return DYNAMIC;
+
+                // the first case wins, later duplicates are only reached by falling through
+                indices.putIfAbsent(constant, i);
+
+                if (constant instanceof Long) {
+                    min = Math.min(min, (Long) constant);
+                    max = Math.max(max, (Long) constant);
+                } else {
+                    integers = false;
+                }
+            }
+
+            if (!integers || indices.isEmpty() || max - min < 0 || max - min >= Math.max(16, cases.size() * 2L)) {
+                return new Dispatch(indices, 0, null);
+            }
+
+            final int[] table = new int[(int) (max - min + 1)];
+            Arrays.fill(table, cases.size());
+            for (final Map.Entry<Object, Integer> entry : indices.entrySet()) {
+                table[(int) ((Long) entry.getKey() - min)] = entry.getValue();
+            }
+            return new Dispatch(null, min, table);
+        }
+
+        /**
+         * Returns the value a case expression always evaluates to, compared the same way, or null if it isn't a
+         * constant.
+         */
+        private static Object constant(final ASTNode expression) {
+            if (expression instanceof IntegerNode) return ((IntegerNode) expression).getValue();
+            if (expression instanceof DecimalNode) return ((DecimalNode) expression).getValue();
+            if (expression instanceof LiteralNode) return ((LiteralNode) expression).getValue();
+            if (expression instanceof BooleanNode) return ((BooleanNode) expression).getValue();
+            return null;
+        }
+
+        private int find(final Object value, final int none) {
+            if (table != null) {
+                if (!(value instanceof Long)) return none;
+                final long offset = (Long) value - min;
+                return offset >= 0 && offset < table.length ? table[(int) offset] : none;
+            }
+            if (indices == null) return -1;
+            final Integer index = indices.get(value);
+            return index == null ? none : index;
+        }
+    }
 }
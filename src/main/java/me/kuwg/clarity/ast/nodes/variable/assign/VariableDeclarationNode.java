@@ -4,6 +4,8 @@ import me.kuwg.clarity.ast.ASTNode;
 import me.kuwg.clarity.compiler.CompilerVersion;
 import me.kuwg.clarity.compiler.stream.ASTInputStream;
 import me.kuwg.clarity.compiler.stream.ASTOutputStream;
+import me.kuwg.clarity.interpreter.Interpreter;
+import me.kuwg.clarity.interpreter.context.Context;
 
 import java.io.IOException;
 
@@ -12,6 +14,7 @@ public class VariableDeclarationNode extends ASTNode {
     private String typeDefault;
     private boolean isConstant, isStatic, isLocal;
     private ASTNode value;
+    private int slot = -1;
 
     public VariableDeclarationNode(final String name, final String typeDefault, final ASTNode value, final boolean isConstant,  final boolean isStatic, final boolean isLocal) {
         this.name = name;
@@ -50,6 +53,14 @@ public class VariableDeclarationNode extends ASTNode {
         return isLocal;
     }
 
+    public final int getSlot() {
+        return slot;
+    }
+
+    public final void resolve(final int slot) {
+        this.slot = slot;
+    }
+
     @Override
     public String toString() {
         return "VariableDeclarationNode{" +
@@ -62,6 +73,11 @@ public class VariableDeclarationNode extends ASTNode {
                 '}';
     }
 
+    @Override
+    public Object evaluate(final Interpreter interpreter, final Context context) {
+        return interpreter.interpretVariableDeclaration(this, context);
+    }
+
     @Override
     public void print(final StringBuilder sb, final String indent) {
         sb.append(indent).append("Variable Declaration: ").append(typeDefault != null ? "(" + typeDefault + ")\n" : "\n");
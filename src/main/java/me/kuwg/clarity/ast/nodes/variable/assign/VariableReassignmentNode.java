@@ -4,6 +4,8 @@ import me.kuwg.clarity.ast.ASTNode;
 import me.kuwg.clarity.compiler.CompilerVersion;
 import me.kuwg.clarity.compiler.stream.ASTInputStream;
 import me.kuwg.clarity.compiler.stream.ASTOutputStream;
+import me.kuwg.clarity.interpreter.Interpreter;
+import me.kuwg.clarity.interpreter.context.Context;
 
 import java.io.IOException;
 
@@ -11,6 +13,7 @@ public class VariableReassignmentNode extends ASTNode {
 
     private String name;
     private ASTNode value;
+    private int depth = -1, slot = -1;
 
     public VariableReassignmentNode(final String name, final ASTNode value) {
         this.name = name;
@@ -28,6 +31,24 @@ public class VariableReassignmentNode extends ASTNode {
         return value;
     }
 
+    public final int getDepth() {
+        return depth;
+    }
+
+    public final int getSlot() {
+        return slot;
+    }
+
+    public final void resolve(final int depth, final int slot) {
+        this.depth = depth;
+        this.slot = slot;
+    }
+
+    @Override
+    public Object evaluate(final Interpreter interpreter, final Context context) {
+        return interpreter.interpretVariableReassignment(this, context);
+    }
+
     @Override
     public void print(final StringBuilder sb, final String indent) {
         sb.append(indent).append("Variable Reassignment:\n");
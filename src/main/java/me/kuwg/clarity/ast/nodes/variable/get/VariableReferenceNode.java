@@ -4,11 +4,14 @@ import me.kuwg.clarity.ast.ASTNode;
 import me.kuwg.clarity.compiler.CompilerVersion;
 import me.kuwg.clarity.compiler.stream.ASTInputStream;
 import me.kuwg.clarity.compiler.stream.ASTOutputStream;
+import me.kuwg.clarity.interpreter.Interpreter;
+import me.kuwg.clarity.interpreter.context.Context;
 
 import java.io.IOException;
 
 public class VariableReferenceNode extends ASTNode {
     private String name;
+    private int depth = -1, slot = -1;
 
     public VariableReferenceNode(final String name) {
         this.name = name;
@@ -22,6 +25,24 @@ public class VariableReferenceNode extends ASTNode {
         return name;
     }
 
+    public final int getDepth() {
+        return depth;
+    }
+
+    public final int getSlot() {
+        return slot;
+    }
+
+    public final void resolve(final int depth, final int slot) {
+        this.depth = depth;
+        this.slot = slot;
+    }
+
+    @Override
+    public Object evaluate(final Interpreter interpreter, final Context context) {
+        return interpreter.interpretVariableReference(this, context);
+    }
+
     @Override
     public void print(final StringBuilder sb, final String indent) {
         sb.append(indent).append("Variable Reference:\n");
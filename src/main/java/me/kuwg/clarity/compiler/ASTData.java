@@ -26,6 +26,7 @@ import me.kuwg.clarity.ast.nodes.variable.get.VariableReferenceNode;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * @author hi12167pies, NotKuwg
@@ -38,89 +39,98 @@ public final class ASTData {
     public static final Map<Class<? extends ASTNodeCompiler>, Integer> NODE_TO_ID = new HashMap<>();
     public static final Map<Integer, Class<? extends ASTNodeCompiler>> ID_TO_NODE = new HashMap<>();
 
+    // Node factories indexed by id, ids are below 0x1000
+    private static final Supplier<?>[] FACTORIES = new Supplier<?>[0x1000];
+
     static {
         // Null
-        registerNode(null, 0x00);
-        registerNode(NullNode.class, 0x01);
+        registerNode(null, 0x00, null);
+        registerNode(NullNode.class, 0x01, NullNode::new);
 
         // Block (0x100)
-        registerNode(BlockNode.class, 0x100);
-        registerNode(ReturnNode.class, 0x101);
-        registerNode(ConditionedReturnNode.class, 0x102);
-        registerNode(BreakNode.class, 0x103);
-        registerNode(ContinueNode.class, 0x104);
-        registerNode(AsyncBlockNode.class, 0x105);
-        registerNode(RaiseNode.class, 0x106);
-        registerNode(StaticBlockNode.class, 0x107);
-        registerNode(AwaitBlockNode.class, 0x108);
-        registerNode(TryExceptBlock.class, 0x109);
-        registerNode(LambdaBlockNode.class, 0x110);
+        registerNode(BlockNode.class, 0x100, BlockNode::new);
+        registerNode(ReturnNode.class, 0x101, ReturnNode::new);
+        registerNode(ConditionedReturnNode.class, 0x102, ConditionedReturnNode::new);
+        registerNode(BreakNode.class, 0x103, BreakNode::new);
+        registerNode(ContinueNode.class, 0x104, ContinueNode::new);
+        registerNode(AsyncBlockNode.class, 0x105, AsyncBlockNode::new);
+        registerNode(RaiseNode.class, 0x106, RaiseNode::new);
+        registerNode(StaticBlockNode.class, 0x107, StaticBlockNode::new);
+        registerNode(AwaitBlockNode.class, 0x108, AwaitBlockNode::new);
+        registerNode(TryExceptBlock.class, 0x109, TryExceptBlock::new);
+        registerNode(LambdaBlockNode.class, 0x110, LambdaBlockNode::new);
 
         // Expression (0x200)
-        registerNode(BinaryExpressionNode.class, 0x200);
+        registerNode(BinaryExpressionNode.class, 0x200, BinaryExpressionNode::new);
 
         // Function (0x300)
-        registerNode(FunctionDeclarationNode.class, 0x300);
-        registerNode(MainFunctionDeclarationNode.class, 0x301);
-        registerNode(ParameterNode.class, 0x302);
-        registerNode(DefaultNativeFunctionCallNode.class, 0x303);
-        registerNode(FunctionCallNode.class, 0x304);
-        registerNode(ObjectFunctionCallNode.class, 0x305);
-        registerNode(LocalFunctionCallNode.class, 0x306);
-        registerNode(PackagedNativeFunctionCallNode.class, 0x307);
-        registerNode(ReflectedNativeFunctionDeclaration.class, 0x308);
-        registerNode(MemberFunctionCallNode.class, 0x309);
-        registerNode(AwaitFunctionCallNode.class, 0x310);
-        registerNode(VirtualFunctionDeclarationNode.class, 0x311);
+        registerNode(FunctionDeclarationNode.class, 0x300, FunctionDeclarationNode::new);
+        registerNode(MainFunctionDeclarationNode.class, 0x301, MainFunctionDeclarationNode::new);
+        registerNode(ParameterNode.class, 0x302, ParameterNode::new);
+        registerNode(DefaultNativeFunctionCallNode.class, 0x303, DefaultNativeFunctionCallNode::new);
+        registerNode(FunctionCallNode.class, 0x304, FunctionCallNode::new);
+        registerNode(ObjectFunctionCallNode.class, 0x305, ObjectFunctionCallNode::new);
+        registerNode(LocalFunctionCallNode.class, 0x306, LocalFunctionCallNode::new);
+        registerNode(PackagedNativeFunctionCallNode.class, 0x307, PackagedNativeFunctionCallNode::new);
+        registerNode(ReflectedNativeFunctionDeclaration.class, 0x308, ReflectedNativeFunctionDeclaration::new);
+        registerNode(MemberFunctionCallNode.class, 0x309, MemberFunctionCallNode::new);
+        registerNode(AwaitFunctionCallNode.class, 0x310, AwaitFunctionCallNode::new);
+        registerNode(VirtualFunctionDeclarationNode.class, 0x311, VirtualFunctionDeclarationNode::new);
 
         // Variable (0x400)
-        registerNode(VariableDeclarationNode.class, 0x400);
-        registerNode(VariableReferenceNode.class, 0x401);
-        registerNode(VariableReassignmentNode.class, 0x402);
-        registerNode(ObjectVariableReferenceNode.class, 0x403);
-        registerNode(ObjectVariableReassignmentNode.class, 0x404);
-        registerNode(LocalVariableReferenceNode.class, 0x405);
-        registerNode(LocalVariableReassignmentNode.class, 0x406);
+        registerNode(VariableDeclarationNode.class, 0x400, VariableDeclarationNode::new);
+        registerNode(VariableReferenceNode.class, 0x401, VariableReferenceNode::new);
+        registerNode(VariableReassignmentNode.class, 0x402, VariableReassignmentNode::new);
+        registerNode(ObjectVariableReferenceNode.class, 0x403, ObjectVariableReferenceNode::new);
+        registerNode(ObjectVariableReassignmentNode.class, 0x404, ObjectVariableReassignmentNode::new);
+        registerNode(LocalVariableReferenceNode.class, 0x405, LocalVariableReferenceNode::new);
+        registerNode(LocalVariableReassignmentNode.class, 0x406, LocalVariableReassignmentNode::new);
 
         // Literal (0x500)
-        registerNode(LiteralNode.class, 0x500);
-        registerNode(IntegerNode.class, 0x501);
-        registerNode(DecimalNode.class, 0x502);
-        registerNode(VoidNode.class, 0x503);
-        registerNode(ArrayNode.class, 0x504);
-        registerNode(BooleanNode.class, 0x505);
+        registerNode(LiteralNode.class, 0x500, LiteralNode::new);
+        registerNode(IntegerNode.class, 0x501, IntegerNode::new);
+        registerNode(DecimalNode.class, 0x502, DecimalNode::new);
+        registerNode(VoidNode.class, 0x503, VoidNode::new);
+        registerNode(ArrayNode.class, 0x504, ArrayNode::new);
+        registerNode(BooleanNode.class, 0x505, BooleanNode::new);
 
         // Inclusion (0x600)
-        registerNode(IncludeNode.class, 0x600);
+        registerNode(IncludeNode.class, 0x600, IncludeNode::new);
 
         // Class (0x700)
-        registerNode(ClassDeclarationNode.class, 0x700);
-        registerNode(ClassInstantiationNode.class, 0x701);
-        registerNode(NativeClassDeclarationNode.class, 0x702);
-        registerNode(NativeCastNode.class, 0x703);
-        registerNode(EnumDeclarationNode.class, 0x704);
-        registerNode(AnnotationDeclarationNode.class, 0x705);
-        registerNode(AnnotationUseNode.class, 0x706);
-        registerNode(VirtualClassDeclarationNode.class, 0x707);
+        registerNode(ClassDeclarationNode.class, 0x700, ClassDeclarationNode::new);
+        registerNode(ClassInstantiationNode.class, 0x701, ClassInstantiationNode::new);
+        registerNode(NativeClassDeclarationNode.class, 0x702, NativeClassDeclarationNode::new);
+        registerNode(NativeCastNode.class, 0x703, NativeCastNode::new);
+        registerNode(EnumDeclarationNode.class, 0x704, EnumDeclarationNode::new);
+        registerNode(AnnotationDeclarationNode.class, 0x705, AnnotationDeclarationNode::new);
+        registerNode(AnnotationUseNode.class, 0x706, AnnotationUseNode::new);
+        registerNode(VirtualClassDeclarationNode.class, 0x707, VirtualClassDeclarationNode::new);
+        registerNode(EnumDeclarationNode.EnumValueNode.class, 0x708, EnumDeclarationNode.EnumValueNode::new);
+        registerNode(AnnotationDeclarationNode.AnnotationElement.class, 0x709, AnnotationDeclarationNode.AnnotationElement::new);
+        registerNode(AnnotationUseNode.AnnotationValueAssign.class, 0x710, AnnotationUseNode.AnnotationValueAssign::new);
 
         // FREE 0x800
 
         // Statements (0x900)
-        registerNode(IfNode.class, 0x900);
-        registerNode(WhileNode.class, 0x901);
-        registerNode(ForNode.class, 0x902);
-        registerNode(AssertNode.class, 0x902);
-        registerNode(ForeachNode.class, 0x903);
-        registerNode(IsNode.class, 0x904);
-        registerNode(DeleteVariableNode.class, 0x905);
-        registerNode(DeleteFunctionNode.class, 0x906);
-        registerNode(TernaryOperatorNode.class, 0x907);
-        registerNode(LocalReferenceNode.class, 0x908);
+        registerNode(IfNode.class, 0x900, IfNode::new);
+        registerNode(WhileNode.class, 0x901, WhileNode::new);
+        registerNode(AssertNode.class, 0x902, AssertNode::new);
+        registerNode(ForeachNode.class, 0x903, ForeachNode::new);
+        registerNode(IsNode.class, 0x904, IsNode::new);
+        registerNode(DeleteVariableNode.class, 0x905, DeleteVariableNode::new);
+        registerNode(DeleteFunctionNode.class, 0x906, DeleteFunctionNode::new);
+        registerNode(TernaryOperatorNode.class, 0x907, TernaryOperatorNode::new);
+        registerNode(LocalReferenceNode.class, 0x908, LocalReferenceNode::new);
+        registerNode(ForNode.class, 0x909, ForNode::new);
+        registerNode(SelectNode.class, 0x910, SelectNode::new);
+        registerNode(SelectNode.WhenNode.class, 0x911, SelectNode.WhenNode::new);
     }
 
-    private static void registerNode(Class<? extends ASTNodeCompiler> clazz, int id) {
+    private static <T extends ASTNodeCompiler> void registerNode(Class<T> clazz, int id, Supplier<T> factory) {
         NODE_TO_ID.put(clazz, id);
         ID_TO_NODE.put(id, clazz);
+        FACTORIES[id] = factory;
     }
 
     public static int getIdFromNode(Class<? extends ASTNodeCompiler> clazz) {
@@ -130,4 +140,14 @@ public final class ASTData {
     public static Class<? extends ASTNodeCompiler> getClassFromId(int id) {
         return ID_TO_NODE.getOrDefault(id, null);
     }
+
+    /**
+     * Returns the factory creating the empty node for an id, the node is then filled by its load method.
+     *
+     * @return the factory, or null if no node has this id.
+     */
+    @SuppressWarnings("unchecked")
+    public static Supplier<? extends ASTNodeCompiler> getFactory(int id) {
+        return id >= 0 && id < FACTORIES.length ? (Supplier<? extends ASTNodeCompiler>) FACTORIES[id] : null;
+    }
 }
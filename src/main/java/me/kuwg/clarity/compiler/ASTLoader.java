@@ -2,19 +2,31 @@ package me.kuwg.clarity.compiler;
 
 import me.kuwg.clarity.Clarity;
 import me.kuwg.clarity.ast.AST;
+import me.kuwg.clarity.ast.ASTNode;
 import me.kuwg.clarity.ast.nodes.block.BlockNode;
+import me.kuwg.clarity.ast.nodes.include.IncludeNode;
 import me.kuwg.clarity.compiler.stream.ASTInputStream;
+import me.kuwg.clarity.parser.ScopeResolver;
 
+import me.kuwg.clarity.compiler.stream.ByteBufferInputStream;
+
+import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.zip.GZIPInputStream;
 
 /**
  * @author hi12167pies
  */
 public final class ASTLoader {
+    private static final int GZIP_MAGIC_0 = 0x1F;
+    private static final int GZIP_MAGIC_1 = 0x8B;
+
     private final Path path;
 
     public ASTLoader(final File file) {
@@ -25,18 +37,80 @@ public final class ASTLoader {
         this.path = path;
     }
 
+    /**
+     * Loads the file through a memory mapping. Uncompressed files are decoded straight from it, and the function
+     * bodies loaded later are read from it too.
+     */
     public AST load() throws IOException {
-        try (final GZIPInputStream gzipIn = new GZIPInputStream(Files.newInputStream(path))) {
-            final ASTInputStream stream = new ASTInputStream(gzipIn);
-            final CompilerVersion version = CompilerVersion.read(stream);
-            final BlockNode rootNode = (BlockNode) stream.readNode(version);
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return load(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), false, false);
+        }
+    }
 
-            if (Clarity.INFORMATION.getOption("compilerversion")) {
-                System.out.println("Loaded compiler version: " + version);
-            }
+    /**
+     * Loads a compiled AST from a stream, closing it.
+     *
+     * @param in      The compiled AST.
+     * @param latest  Whether only the latest compiler version is accepted.
+     * @param program Whether the AST is run as the program, see {@link ScopeResolver#resolve(AST, boolean)}.
+     * @return The AST, or null if {@code latest} is set and the stream was written by an older compiler.
+     */
+    public static AST load(final InputStream in, final boolean latest, final boolean program) throws IOException {
+        final InputStream buffered = in.markSupported() ? in : new BufferedInputStream(in);
+
+        buffered.mark(2);
+        final boolean compressed = buffered.read() == GZIP_MAGIC_0 && buffered.read() == GZIP_MAGIC_1;
+        buffered.reset();
+
+        try (final InputStream stream = compressed ? new GZIPInputStream(buffered) : buffered) {
+            return load(new ASTInputStream(stream), latest, program);
+        }
+    }
+
+    /**
+     * Loads a compiled AST from a buffer.
+     *
+     * @see #load(InputStream, boolean, boolean)
+     */
+    public static AST load(final ByteBuffer buffer, final boolean latest, final boolean program) throws IOException {
+        return load(new ByteBufferInputStream(buffer), latest, program);
+    }
+
+    private static AST load(final ASTInputStream stream, final boolean latest, final boolean program) throws IOException {
+        final CompilerVersion version = CompilerVersion.read(stream);
 
-            stream.close();
-            return new AST(rootNode);
+        if (latest && version != CompilerVersion.LATEST) {
+            return null;
+        }
+
+        if (version.isNewerThanOrEquals(CompilerVersion.V1_3)) {
+            stream.readConstantPool();
+        }
+
+        final BlockNode rootNode = (BlockNode) stream.readNode(version);
+
+        if (Clarity.INFORMATION.getOption("compilerversion")) {
+            System.out.println("Loaded compiler version: " + version);
+        }
+
+        stream.close();
+
+        final AST ast = new AST(rootNode);
+        ScopeResolver.resolve(ast, program);
+        resolveIncludes(rootNode);
+        return ast;
+    }
+
+    /**
+     * Resolves the files included by a loaded tree, they are saved inside it and were never resolved either.
+     */
+    private static void resolveIncludes(final BlockNode root) {
+        for (final ASTNode node : root) {
+            if (node instanceof IncludeNode && ((IncludeNode) node).getBlock() != null) {
+                final BlockNode included = ((IncludeNode) node).getBlock();
+                ScopeResolver.resolve(new AST(included), false);
+                resolveIncludes(included);
+            }
         }
     }
 }
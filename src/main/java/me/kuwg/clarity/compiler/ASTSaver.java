@@ -3,8 +3,11 @@ package me.kuwg.clarity.compiler;
 import me.kuwg.clarity.ast.AST;
 import me.kuwg.clarity.compiler.stream.ASTOutputStream;
 
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.util.zip.GZIPOutputStream;
 
@@ -13,16 +16,43 @@ import java.util.zip.GZIPOutputStream;
  */
 public final class ASTSaver {
     private final AST ast;
+    private final boolean compressed;
 
     public ASTSaver(final AST ast) {
+        this(ast, true);
+    }
+
+    /**
+     * @param compressed Whether the AST is compressed with GZIP. Uncompressed files are bigger, but are decoded
+     *                   straight from a memory mapping by {@link ASTLoader#load()}.
+     */
+    public ASTSaver(final AST ast, final boolean compressed) {
         this.ast = ast;
+        this.compressed = compressed;
     }
 
     public void save(final File file) throws IOException {
-        try (final GZIPOutputStream gzipOut = new GZIPOutputStream(Files.newOutputStream(file.toPath()))) {
-            final ASTOutputStream out = new ASTOutputStream(gzipOut);
-            CompilerVersion.write(out);
-            out.writeNode(ast.getRoot());
+        try (final OutputStream out = new BufferedOutputStream(Files.newOutputStream(file.toPath()))) {
+            save(out);
         }
     }
+
+    /**
+     * Saves the AST to a stream, which is left open.
+     * The tree is written first, so that the constant pool of its strings can go before it.
+     */
+    public void save(final OutputStream stream) throws IOException {
+        final ByteArrayOutputStream tree = new ByteArrayOutputStream();
+        final ASTOutputStream treeOut = new ASTOutputStream(tree, true);
+        treeOut.writeNode(ast.getRoot());
+        treeOut.flush();
+
+        final GZIPOutputStream gzipOut = compressed ? new GZIPOutputStream(stream) : null;
+        final ASTOutputStream out = new ASTOutputStream(compressed ? gzipOut : stream);
+        CompilerVersion.write(out);
+        treeOut.writeConstantPool(out);
+        tree.writeTo(out);
+        out.flush();
+        if (compressed) gzipOut.finish();
+    }
 }
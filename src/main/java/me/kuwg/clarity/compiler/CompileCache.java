@@ -0,0 +1,216 @@
+package me.kuwg.clarity.compiler;
+
+import me.kuwg.clarity.Clarity;
+import me.kuwg.clarity.ast.AST;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * On-disk cache of the parsed AST of interpreted files, stored under {@code USER_HOME/Clarity/cache}.
+ * <p>
+ * Entries are keyed by a hash of the path of the file, the working directory, the compiler version and the options
+ * changing the parsed tree, so each file has a single entry, replaced when it changes. Each entry holds the hash of
+ * the source and lists every file and resource the parser read for it (includes, natives, defaults) with the hash of
+ * their content, and is only used while all of them are unchanged.
+ * </p>
+ * <p>
+ * Files using wildcard includes are never cached, as a new file in the directory would not be noticed.
+ * </p>
+ */
+public final class CompileCache {
+
+    private static final File DIRECTORY = new File(Clarity.USER_HOME + "/Clarity/cache");
+
+    private static final String FILE_PREFIX = "file:";
+    private static final String RESOURCE_PREFIX = "resource:";
+
+    private static volatile CompileCache recording;
+
+    private final File entry;
+    private final String sourceHash;
+    private final Map<String, String> dependencies = new ConcurrentHashMap<>();
+    private volatile boolean cacheable = true;
+
+    /**
+     * @param file   The interpreted file.
+     * @param source The content of the file.
+     */
+    public CompileCache(final File file, final byte[] source) throws IOException {
+        final MessageDigest digest = digest();
+        digest.update((CompilerVersion.LATEST.name() + '\0' + Clarity.INFORMATION.getOption("defaults") + '\0' +
+                file.getCanonicalPath() + '\0' + System.getProperty("user.dir")).getBytes(StandardCharsets.UTF_8));
+        this.entry = new File(DIRECTORY, hex(digest.digest()) + ".cclr");
+        this.sourceHash = hash(source);
+    }
+
+    /**
+     * Loads the cached AST.
+     *
+     * @return The AST, or null if it was never cached or anything it was parsed from changed.
+     */
+    public AST load() {
+        try (final DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(entry.toPath())))) {
+            if (!in.readUTF().equals(CompilerVersion.LATEST.name())) return null;
+            if (!in.readUTF().equals(sourceHash)) return null;
+
+            final int size = in.readInt();
+            for (int i = 0; i < size; i++) {
+                final String dependency = in.readUTF();
+                final String hash = in.readUTF();
+                if (!hash.equals(currentHash(dependency))) return null;
+            }
+
+            return ASTLoader.load(in, true, true);
+        } catch (final NoSuchFileException e) {
+            return null;
+        } catch (final IOException | RuntimeException e) {
+            if (Clarity.INFORMATION.getOption("verbose")) {
+                System.err.println("Ignoring the cached AST " + entry + ": " + e);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Starts recording the files read by the parser, until {@link #save(AST)}.
+     */
+    public void record() {
+        dependencies.clear();
+        cacheable = true;
+        recording = this;
+    }
+
+    /**
+     * Stops recording and saves the AST with the files it was parsed from. Failures are ignored, the cache is only
+     * an optimization.
+     */
+    public void save(final AST ast) {
+        if (recording == this) recording = null;
+        if (!cacheable) return;
+
+        Path temp = null;
+        try {
+            //noinspection ResultOfMethodCallIgnored
+            DIRECTORY.mkdirs();
+            temp = Files.createTempFile(DIRECTORY.toPath(), "entry", ".tmp");
+
+            try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeUTF(CompilerVersion.LATEST.name());
+                out.writeUTF(sourceHash);
+                out.writeInt(dependencies.size());
+                for (final Map.Entry<String, String> dependency : dependencies.entrySet()) {
+                    out.writeUTF(dependency.getKey());
+                    out.writeUTF(dependency.getValue());
+                }
+                new ASTSaver(ast).save(out);
+            }
+
+            // other runs of the same file may be reading the entry
+            try {
+                Files.move(temp, entry.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (final AtomicMoveNotSupportedException e) {
+                Files.move(temp, entry.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            temp = null;
+        } catch (final IOException | RuntimeException e) {
+            if (Clarity.INFORMATION.getOption("verbose")) {
+                System.err.println("Failed to cache the AST to " + entry + ": " + e);
+            }
+        } finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (final IOException ignored) {
+                }
+            }
+        }
+    }
+
+    /**
+     * Records a file read by the parser.
+     */
+    public static void dependOnFile(final File file, final byte[] content) {
+        final CompileCache cache = recording;
+        if (cache != null) cache.dependencies.put(FILE_PREFIX + file.getAbsolutePath(), hash(content));
+    }
+
+    /**
+     * Records a file read by the parser, reading it again only while recording.
+     */
+    public static void dependOnFile(final File file) {
+        final CompileCache cache = recording;
+        if (cache == null) return;
+        try {
+            dependOnFile(file, Files.readAllBytes(file.toPath()));
+        } catch (final IOException e) {
+            cache.cacheable = false;
+        }
+    }
+
+    /**
+     * Records a resource read by the parser.
+     *
+     * @param resource The resource path.
+     * @param content  The resource, as read by {@link StdlibCompiler#read(InputStream)}.
+     */
+    public static void dependOnResource(final String resource, final String content) {
+        final CompileCache cache = recording;
+        if (cache != null) cache.dependencies.put(RESOURCE_PREFIX + resource, hash(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Marks the file being recorded as one that can't be cached.
+     */
+    public static void uncacheable() {
+        final CompileCache cache = recording;
+        if (cache != null) cache.cacheable = false;
+    }
+
+    private static String currentHash(final String dependency) throws IOException {
+        if (dependency.startsWith(FILE_PREFIX)) {
+            final Path path = new File(dependency.substring(FILE_PREFIX.length())).toPath();
+            return Files.exists(path) ? hash(Files.readAllBytes(path)) : null;
+        } else if (dependency.startsWith(RESOURCE_PREFIX)) {
+            final InputStream in = CompileCache.class.getClassLoader().getResourceAsStream(dependency.substring(RESOURCE_PREFIX.length()));
+            return in == null ? null : hash(StdlibCompiler.read(in).getBytes(StandardCharsets.UTF_8));
+        }
+        return null;
+    }
+
+    private static String hash(final byte[] content) {
+        return hex(digest().digest(content));
+    }
+
+    private static MessageDigest digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static String hex(final byte[] bytes) {
+        final StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (final byte b : bytes) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+}
@@ -6,7 +6,17 @@ import me.kuwg.clarity.compiler.stream.ASTOutputStream;
 import java.io.IOException;
 
 public enum CompilerVersion {
-    PRE, V1_0, V1_1
+    PRE, V1_0, V1_1, V1_2,
+
+    /**
+     * Strings are written once to a constant pool before the tree, nodes refer to them by index.
+     */
+    V1_3,
+
+    /**
+     * Function bodies are prefixed by their length and only decoded when the function is first called.
+     */
+    V1_4
 
     ;
 
@@ -0,0 +1,150 @@
+package me.kuwg.clarity.compiler;
+
+import me.kuwg.clarity.Clarity;
+import me.kuwg.clarity.ast.AST;
+import me.kuwg.clarity.info.ClarityRunningInformation;
+import me.kuwg.clarity.parser.ASTParser;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+
+/**
+ * Compiles the standard library ({@code DEFAULTS.clr} and {@code natives/*.clr}) to {@code .cclr} at build time, so
+ * that the parser can load it instead of tokenizing and parsing it on every run.
+ * <p>
+ * Each file is compiled on its own, with the natives it includes saved inside it. The compiled files go to
+ * {@code compiled/}, next to an index holding the checksum of every source: a compiled file is only used when the
+ * source it was built from and the compiler version are both unchanged, otherwise the source is parsed as usual.
+ * </p>
+ * Usage: {@code StdlibCompiler <classes directory>}, run by maven after the resources are copied.
+ */
+public final class StdlibCompiler {
+
+    public static final String DIRECTORY = "compiled/";
+
+    private static final String INDEX = DIRECTORY + "index.properties";
+
+    private static volatile Properties index;
+
+    private StdlibCompiler() {
+        throw new RuntimeException();
+    }
+
+    public static void main(final String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: StdlibCompiler <classes directory>");
+            System.exit(1);
+        }
+
+        // parse the sources, not the output of a previous build
+        Clarity.ARGS = new String[] {"compile", "stdlib", "-noprecomp"};
+        Clarity.INFORMATION = new ClarityRunningInformation();
+
+        final File root = new File(args[0]);
+        final List<String> resources = new ArrayList<>();
+        resources.add("DEFAULTS.clr");
+
+        final File[] natives = new File(root, "natives").listFiles();
+        if (natives != null) {
+            for (final File file : natives) {
+                if (file.isFile() && file.getName().endsWith(".clr")) resources.add("natives/" + file.getName());
+            }
+        }
+
+        final Properties checksums = new Properties();
+        for (final String resource : resources) {
+            final String content = read(Files.newInputStream(new File(root, resource).toPath()));
+            final String name = resource.substring(resource.lastIndexOf('/') + 1);
+
+            final AST ast;
+            try {
+                ast = ASTParser.parseStandalone(name, content);
+            } catch (final RuntimeException e) {
+                // left to the parser, which reports the error if the file is ever included
+                System.err.println("Skipping " + resource + ": " + e.getMessage());
+                continue;
+            }
+
+            final File output = new File(root, compiledName(resource));
+
+            //noinspection ResultOfMethodCallIgnored
+            output.getParentFile().mkdirs();
+            new ASTSaver(ast).save(output);
+            checksums.setProperty(resource, checksum(content));
+        }
+
+        try (final OutputStream out = Files.newOutputStream(new File(root, INDEX).toPath())) {
+            checksums.store(out, "Clarity standard library, compiler version " + CompilerVersion.LATEST.name());
+        }
+
+        System.out.println("Compiled " + checksums.size() + " standard library files to " + new File(root, DIRECTORY));
+    }
+
+    /**
+     * Loads the compiled version of a standard library resource.
+     *
+     * @param resource The resource path, such as {@code natives/list.clr}.
+     * @param content  The source of the resource, checked against the one it was compiled from.
+     * @return The loaded AST, or null if there is no up-to-date compiled version.
+     */
+    public static AST load(final String resource, final String content) {
+        final String checksum = index().getProperty(resource);
+        if (checksum == null || !checksum.equals(checksum(content))) return null;
+
+        final InputStream in = StdlibCompiler.class.getClassLoader().getResourceAsStream(compiledName(resource));
+        if (in == null) return null;
+
+        try {
+            return ASTLoader.load(in, true, false);
+        } catch (final IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Reads a source resource, lines are joined the same way the parser reads them.
+     */
+    public static String read(final InputStream in) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            return reader.lines().collect(Collectors.joining("\n"));
+        }
+    }
+
+    private static Properties index() {
+        Properties properties = index;
+        if (properties == null) {
+            properties = new Properties();
+            final InputStream in = StdlibCompiler.class.getClassLoader().getResourceAsStream(INDEX);
+            if (in != null) {
+                try (final InputStream stream = in) {
+                    properties.load(stream);
+                } catch (final IOException e) {
+                    properties.clear();
+                }
+            }
+            index = properties;
+        }
+        return properties;
+    }
+
+    private static String compiledName(final String resource) {
+        return DIRECTORY + resource.substring(0, resource.length() - ".clr".length()) + ".cclr";
+    }
+
+    private static String checksum(final String content) {
+        final CRC32 crc = new CRC32();
+        crc.update(content.getBytes(StandardCharsets.UTF_8));
+        return Long.toHexString(crc.getValue());
+    }
+}
@@ -9,9 +9,11 @@ import java.io.BufferedInputStream;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
 
 import static me.kuwg.clarity.compiler.ASTData.CONTINUE_BIT;
 import static me.kuwg.clarity.compiler.ASTData.SEGMENT_BITS;
@@ -20,11 +22,15 @@ import static me.kuwg.clarity.compiler.ASTData.SEGMENT_BITS;
  * @author hi12167pies
  */
 public final class ASTInputStream extends DataInputStream {
-    public final BufferedInputStream bufferedStream;
+    private String[] pool;
 
     public ASTInputStream(InputStream inputStream) {
-        super(new BufferedInputStream(inputStream)); // wrapper for mark/reset support
-        this.bufferedStream = (BufferedInputStream) super.in;
+        super(inputStream.markSupported() ? inputStream : new BufferedInputStream(inputStream)); // wrapper for mark/reset support
+    }
+
+    ASTInputStream(InputStream inputStream, String[] pool) {
+        this(inputStream);
+        this.pool = pool;
     }
 
     /**
@@ -34,7 +40,7 @@ public final class ASTInputStream extends DataInputStream {
      */
     @Override
     public void mark(int readlimit) {
-        bufferedStream.mark(readlimit);
+        in.mark(readlimit);
     }
 
     /**
@@ -43,25 +49,49 @@ public final class ASTInputStream extends DataInputStream {
      * @throws IOException if reset is not supported or the mark has been invalidated.
      */
     public void reset() throws IOException {
-        bufferedStream.reset();
+        in.reset();
     }
 
     /**
      * Checks if mark/reset is supported.
      */
     public boolean markSupported() {
-        return bufferedStream.markSupported();
+        return in.markSupported();
+    }
+
+    /**
+     * Reads the constant pool written by {@link ASTOutputStream#writeConstantPool(ASTOutputStream)}, the strings read
+     * after it are indexes into it.
+     */
+    public void readConstantPool() throws IOException {
+        final String[] pool = new String[readVarInt()];
+        for (int i = 0; i < pool.length; i++) {
+            pool[i] = readUTF8().intern();
+        }
+        this.pool = pool;
+    }
+
+    /**
+     * Reads a string from the stream, resolved through the constant pool if there is one.
+     */
+    public String readString() throws IOException {
+        if (pool == null) return readUTF8();
+
+        final int index = readVarInt();
+        if (index >= pool.length) {
+            throw new IOException("Constant pool index out of bounds: " + index + ", size=" + pool.length);
+        }
+        return pool[index];
     }
 
     /**
      * Reads a UTF-8 string from the stream
      */
-    public String readString() throws IOException  {
+    private String readUTF8() throws IOException {
         final int length = readVarInt();
         byte[] bytes = new byte[length];
 
-        // noinspection ResultOfMethodCallIgnored
-        read(bytes);
+        readFully(bytes);
         return new String(bytes, StandardCharsets.UTF_8);
     }
 
@@ -70,23 +100,32 @@ public final class ASTInputStream extends DataInputStream {
      */
     public ASTNode readNode(final CompilerVersion version) throws IOException {
         int id = readVarInt();
-        Class<? extends ASTNodeCompiler> clazz = ASTData.getClassFromId(id);
-        if (clazz == null) {
+        if (id == 0x00) return null; // written by writeNode(null)
+        Supplier<? extends ASTNodeCompiler> factory = ASTData.getFactory(id);
+        if (factory == null) {
             throw new IOException("Null class for id " + id);
         }
 
-        ASTNodeCompiler node;
-        try {
-            node = clazz.newInstance();
-        } catch (final IllegalAccessException | InstantiationException | NullPointerException e) {
-            throw new IOException("Failed to create class: " + clazz);
-        }
-
+        ASTNodeCompiler node = factory.get();
         node.load(this, version);
 
         return (ASTNode) node;
     }
 
+    /**
+     * Reads a node written by {@link ASTOutputStream#writeLazyNode(ASTNodeCompiler)} without decoding it.
+     */
+    public LazyNode readLazyNode(final CompilerVersion version) throws IOException {
+        final int length = readVarInt();
+        if (in instanceof ByteBufferInputStream) {
+            return new LazyNode(((ByteBufferInputStream) in).slice(length), pool, version);
+        }
+
+        final byte[] data = new byte[length];
+        readFully(data);
+        return new LazyNode(ByteBuffer.wrap(data), pool, version);
+    }
+
     /**
      * Reads a list of {@link me.kuwg.clarity.ast.ASTNode} from the stream
      */
@@ -4,11 +4,14 @@ import me.kuwg.clarity.ast.ASTNode;
 import me.kuwg.clarity.compiler.ASTData;
 import me.kuwg.clarity.compiler.ASTNodeCompiler;
 
+import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static me.kuwg.clarity.compiler.ASTData.CONTINUE_BIT;
 import static me.kuwg.clarity.compiler.ASTData.SEGMENT_BITS;
@@ -18,8 +21,23 @@ import static me.kuwg.clarity.compiler.ASTData.SEGMENT_BITS;
  */
 public final class ASTOutputStream extends DataOutputStream {
 
+    private final Map<String, Integer> pool;
+
     public ASTOutputStream(OutputStream outputStream) {
+        this(outputStream, false);
+    }
+
+    /**
+     * @param pooled Whether strings are written as indexes into a constant pool, written with
+     *               {@link #writeConstantPool(ASTOutputStream)} before the content of this stream.
+     */
+    public ASTOutputStream(OutputStream outputStream, boolean pooled) {
+        this(outputStream, pooled ? new LinkedHashMap<>() : null);
+    }
+
+    private ASTOutputStream(OutputStream outputStream, Map<String, Integer> pool) {
         super(outputStream);
+        this.pool = pool;
     }
 
     /**
@@ -44,6 +62,23 @@ public final class ASTOutputStream extends DataOutputStream {
         }
     }
 
+    /**
+     * Writes an {@link ASTNodeCompiler} prefixed by its length, so that it can be skipped when loading and read later
+     * with {@link LazyNode#load()}. The strings it contains go to the constant pool of this stream.
+     *
+     * @param node The ASTNodeCompiler to be written.
+     * @throws IOException If an I/O error occurs.
+     */
+    public void writeLazyNode(ASTNodeCompiler node) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        ASTOutputStream out = new ASTOutputStream(buffer, pool);
+        out.writeNode(node);
+        out.flush();
+
+        writeVarInt(buffer.size());
+        buffer.writeTo(this);
+    }
+
     /**
      * Writes a list of {@link ASTNode} to the output stream.
      *
@@ -64,6 +99,35 @@ public final class ASTOutputStream extends DataOutputStream {
      * @throws IOException If an I/O error occurs.
      */
     public void writeString(String string) throws IOException {
+        if (pool == null) {
+            writeUTF8(string);
+            return;
+        }
+
+        Integer index = pool.get(string);
+        if (index == null) {
+            index = pool.size();
+            pool.put(string, index);
+        }
+        writeVarInt(index);
+    }
+
+    /**
+     * Writes the constant pool of the strings written to this stream so far.
+     *
+     * @param out The stream to write the pool to.
+     * @throws IOException If an I/O error occurs.
+     */
+    public void writeConstantPool(ASTOutputStream out) throws IOException {
+        if (pool == null) throw new IllegalStateException("Stream has no constant pool");
+
+        out.writeVarInt(pool.size());
+        for (String string : pool.keySet()) {
+            out.writeUTF8(string);
+        }
+    }
+
+    private void writeUTF8(String string) throws IOException {
         byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
         writeVarInt(bytes.length);
         write(bytes);
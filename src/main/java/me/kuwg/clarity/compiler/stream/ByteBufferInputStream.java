@@ -0,0 +1,71 @@
+package me.kuwg.clarity.compiler.stream;
+
+import java.io.InputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+
+/**
+ * An {@link InputStream} reading from a {@link ByteBuffer}, such as a memory-mapped file, without copying it.
+ * <p>
+ * Positions are changed through {@link Buffer}, the {@link ByteBuffer} overrides of its methods don't exist on Java 8.
+ * </p>
+ */
+public final class ByteBufferInputStream extends InputStream {
+    private final ByteBuffer buffer;
+
+    public ByteBufferInputStream(final ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    @Override
+    public int read() {
+        return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) {
+        if (len == 0) return 0;
+        if (!buffer.hasRemaining()) return -1;
+
+        final int read = Math.min(len, buffer.remaining());
+        buffer.get(b, off, read);
+        return read;
+    }
+
+    @Override
+    public long skip(final long n) {
+        final int skipped = (int) Math.max(0, Math.min(n, buffer.remaining()));
+        ((Buffer) buffer).position(buffer.position() + skipped);
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return buffer.remaining();
+    }
+
+    @Override
+    public synchronized void mark(final int readlimit) {
+        ((Buffer) buffer).mark();
+    }
+
+    @Override
+    public synchronized void reset() {
+        ((Buffer) buffer).reset();
+    }
+
+    @Override
+    public boolean markSupported() {
+        return true;
+    }
+
+    /**
+     * Returns the next {@code length} bytes as a buffer sharing the same content, and skips them.
+     */
+    ByteBuffer slice(final int length) {
+        final ByteBuffer slice = buffer.duplicate();
+        ((Buffer) slice).limit(slice.position() + length);
+        ((Buffer) buffer).position(buffer.position() + length);
+        return slice.slice();
+    }
+}
@@ -0,0 +1,33 @@
+package me.kuwg.clarity.compiler.stream;
+
+import me.kuwg.clarity.ast.ASTNode;
+import me.kuwg.clarity.compiler.CompilerVersion;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * A node read by {@link ASTInputStream#readLazyNode(CompilerVersion)}, kept encoded until it is needed.
+ */
+public final class LazyNode {
+    private final ByteBuffer data;
+    private final String[] pool;
+    private final CompilerVersion version;
+
+    LazyNode(final ByteBuffer data, final String[] pool, final CompilerVersion version) {
+        this.data = data;
+        this.pool = pool;
+        this.version = version;
+    }
+
+    /**
+     * Decodes the node, every call returns a new copy.
+     */
+    public ASTNode load() {
+        try (final ASTInputStream in = new ASTInputStream(new ByteBufferInputStream(data.duplicate()), pool)) {
+            return in.readNode(version);
+        } catch (final IOException e) {
+            throw new RuntimeException("Failed to load compiled node: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package me.kuwg.clarity.debug;
+
+import me.kuwg.clarity.Clarity;
+import me.kuwg.clarity.ast.AST;
+import me.kuwg.clarity.compiler.ASTData;
+import me.kuwg.clarity.compiler.ASTLoader;
+import me.kuwg.clarity.compiler.ASTNodeCompiler;
+import me.kuwg.clarity.compiler.ASTSaver;
+import me.kuwg.clarity.info.ClarityRunningInformation;
+import me.kuwg.clarity.parser.ASTParser;
+import me.kuwg.clarity.token.Tokenizer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Measures loading a compiled file, compressed and memory-mapped without compression, and compares the node factories of {@link ASTData} against reflective
+ * instantiation, which {@link me.kuwg.clarity.compiler.stream.ASTInputStream#readNode} used before.
+ * <p>
+ * Usage: {@code ASTLoaderBenchmark [file.cclr | source.clr] [rounds]}. A source file is compiled in memory first;
+ * without a file a synthetic program with a few hundred thousand nodes is generated.
+ * </p>
+ */
+public final class ASTLoaderBenchmark {
+
+    private static final int INSTANCES = 1_000_000;
+
+    private ASTLoaderBenchmark() {
+        throw new RuntimeException();
+    }
+
+    public static void main(final String[] args) throws Exception {
+        Clarity.ARGS = new String[0];
+        Clarity.INFORMATION = new ClarityRunningInformation();
+
+        final int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        final AST ast = parse(args.length > 0 ? args[0] : null);
+
+        final File compressed = save(ast, true);
+        final File uncompressed = save(ast, false);
+
+        System.out.println("AST loader benchmark: " + compressed.length() + " bytes compressed, " + uncompressed.length() + " uncompressed, " + rounds + " rounds");
+
+        long load = Long.MAX_VALUE;
+        long mapped = Long.MAX_VALUE;
+        for (int i = 0; i < rounds; i++) {
+            long start = System.nanoTime();
+            new ASTLoader(compressed).load();
+            load = Math.min(load, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            new ASTLoader(uncompressed).load();
+            mapped = Math.min(mapped, System.nanoTime() - start);
+        }
+
+        final List<Class<? extends ASTNodeCompiler>> classes = new ArrayList<>();
+        final List<Supplier<? extends ASTNodeCompiler>> factories = new ArrayList<>();
+        for (final int id : ASTData.ID_TO_NODE.keySet()) {
+            if (id == 0x00) continue;
+            classes.add(ASTData.getClassFromId(id));
+            factories.add(ASTData.getFactory(id));
+        }
+
+        long reflective = Long.MAX_VALUE;
+        long factory = Long.MAX_VALUE;
+        final Object[] sink = new Object[1024];
+        for (int i = 0; i < rounds; i++) {
+            long start = System.nanoTime();
+            for (int n = 0; n < INSTANCES; n++) {
+                //noinspection deprecation
+                sink[n & 1023] = classes.get(n % classes.size()).newInstance();
+            }
+            reflective = Math.min(reflective, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            for (int n = 0; n < INSTANCES; n++) {
+                sink[n & 1023] = factories.get(n % factories.size()).get();
+            }
+            factory = Math.min(factory, System.nanoTime() - start);
+        }
+
+        System.out.printf("  load:       %.3fms%n", load / 1E6);
+        System.out.printf("  mapped:     %.3fms%n", mapped / 1E6);
+        System.out.printf("  %,d nodes (%d types):%n", INSTANCES, classes.size());
+        System.out.printf("    reflection: %.3fms%n", reflective / 1E6);
+        System.out.printf("    factories:  %.3fms%n", factory / 1E6);
+        System.out.printf("    speedup:    %.1fx%n", (double) reflective / factory);
+    }
+
+    private static File save(final AST ast, final boolean compressed) throws IOException {
+        final File file = File.createTempFile("benchmark", ".cclr");
+        file.deleteOnExit();
+        new ASTSaver(ast, compressed).save(file);
+        return file;
+    }
+
+    private static AST parse(final String path) throws IOException {
+        if (path != null && path.endsWith(".cclr")) {
+            return new ASTLoader(new File(path)).load();
+        }
+
+        final String source;
+        final String name;
+        if (path != null) {
+            source = new String(Files.readAllBytes(Paths.get(path)), StandardCharsets.UTF_8);
+            name = new File(path).getAbsolutePath();
+        } else {
+            final StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < 10_000; i++) {
+                sb.append("fn f").append(i).append("(a, b) {\n")
+                        .append("    var x = a + b * ").append(i).append('\n')
+                        .append("    if x > 10 {\n        return x - 1\n    }\n")
+                        .append("    return x\n}\n");
+            }
+            source = sb.toString();
+            name = "generated.clr";
+        }
+
+        return new ASTParser(name, name, Tokenizer.tokenize(source)).parseI();
+    }
+}
@@ -0,0 +1,126 @@
+package me.kuwg.clarity.debug;
+
+import me.kuwg.clarity.token.Token;
+import me.kuwg.clarity.token.TokenType;
+import me.kuwg.clarity.token.Tokenizer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+
+/**
+ * Compares {@link Tokenizer#tokenize(String)} against the previous substring based tokenizer on large inputs.
+ * <p>
+ * Usage: {@code TokenizerBenchmark [source.clr] [sizeKB] [rounds]}. Without a source file a synthetic
+ * program is generated; the source is repeated until it reaches {@code sizeKB} kilobytes (200 by default).
+ * </p>
+ */
+public final class TokenizerBenchmark {
+
+    private static final String SAMPLE =
+            "// generated sample\n" +
+            "class Point {\n" +
+            "    var x\n" +
+            "    var y\n" +
+            "    constructor(x, y) {\n" +
+            "        local.x = x\n" +
+            "        local.y = y\n" +
+            "    }\n" +
+            "}\n" +
+            "/# block\n   comment #/\n" +
+            "fn compute(a, b) -> int {\n" +
+            "    var total = 0x1F + 0b101 + 1_000 + 2.5e3 + 3f\n" +
+            "    for var i = 0, i < a, i++ {\n" +
+            "        total += i * b % 7 >> 1\n" +
+            "    }\n" +
+            "    if total >= 10 && b != 0 || false {\n" +
+            "        println(\"total: \" + total);\n" +
+            "    }\n" +
+            "    return total\n" +
+            "}\n";
+
+    private TokenizerBenchmark() {
+        throw new RuntimeException();
+    }
+
+    public static void main(final String[] args) throws IOException {
+        final String base = args.length > 0 ? new String(Files.readAllBytes(Paths.get(args[0])), StandardCharsets.UTF_8) : SAMPLE;
+        final int sizeKB = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        final int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+        final StringBuilder sb = new StringBuilder(sizeKB * 1024 + base.length());
+        while (sb.length() < sizeKB * 1024) sb.append(base).append('\n');
+        final String src = sb.toString();
+
+        System.out.println("Tokenizer benchmark: " + src.length() + " chars, " + rounds + " rounds");
+
+        final List<Token> expected = tokenizeSubstring(src);
+        final List<Token> actual = Tokenizer.tokenize(src);
+        if (!expected.equals(actual)) {
+            throw new IllegalStateException("Tokenizers disagree: " + expected.size() + " vs " + actual.size() + " tokens");
+        }
+
+        long legacy = Long.MAX_VALUE;
+        long cursor = Long.MAX_VALUE;
+        for (int i = 0; i < rounds; i++) {
+            long start = System.nanoTime();
+            tokenizeSubstring(src);
+            legacy = Math.min(legacy, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            Tokenizer.tokenize(src);
+            cursor = Math.min(cursor, System.nanoTime() - start);
+        }
+
+        System.out.printf("  tokens:    %d%n", actual.size());
+        System.out.printf("  substring: %.3fms%n", legacy / 1E6);
+        System.out.printf("  cursor:    %.3fms%n", cursor / 1E6);
+        System.out.printf("  speedup:   %.1fx%n", (double) legacy / cursor);
+    }
+
+    /**
+     * The previous tokenizer, which copies the remaining source after every token. Kept as the baseline.
+     */
+    private static List<Token> tokenizeSubstring(final String src) {
+        final List<Token> tokens = new ArrayList<>();
+        String remainingSrc = src.replaceAll(";", " ");
+        int line = 1;
+
+        while (!remainingSrc.isEmpty()) {
+            boolean matched = false;
+            for (final TokenType type : TokenType.VALUES) {
+                final Matcher matcher = type.getPattern().matcher(remainingSrc);
+                if (matcher.lookingAt()) {
+                    final String rawValue = matcher.group();
+                    final String tokenValue = type.equals(TokenType.NUMBER) ? String.valueOf(Tokenizer.processNumber(rawValue.replace("_", ""))) : rawValue;
+
+                    if (type == TokenType.NEWLINE) {
+                        line++;
+                    } else if (type == TokenType.COMMENT) {
+                        int lines = 1;
+                        int pos = 0;
+                        while ((pos = tokenValue.indexOf("\n", pos) + 1) != 0) {
+                            lines++;
+                        }
+                        line += lines;
+                    } else if (type != TokenType.WHITESPACE) {
+                        tokens.add(new Token(type, tokenValue, line));
+                    }
+
+                    remainingSrc = remainingSrc.substring(rawValue.length());
+                    matched = true;
+                    break;
+                }
+            }
+
+            if (!matched) {
+                throw new IllegalArgumentException("Unexpected character in input at line " + line + ": " + remainingSrc);
+            }
+        }
+        return tokens;
+    }
+}
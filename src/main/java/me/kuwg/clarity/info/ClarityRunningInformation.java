@@ -38,7 +38,36 @@ public final class ClarityRunningInformation {
             load("loadnatives", false, "nlnat", "loadnatives", "Enables pre-loading for known default natives in the interpreter."),
 
             // compiler version
-            load("compilerversion", false, "nocompver", "compver", "Enables debugging for compiler version.")
+            load("compilerversion", false, "nocompver", "compver", "Enables debugging for compiler version."),
+
+            // precompiled standard library
+            load("precompiled", true, "noprecomp", "precomp", "Loads the standard library from the .cclr files compiled with the jar."),
+
+            // compile cache (interpreted files)
+            load("cache", true, "nocache", "cache", "Caches the parsed AST of interpreted files in the Clarity folder, until they or their includes change."),
+
+            // parallel include parsing
+            load("parallelincludes", true, "noparinc", "parinc", "Parses the files included by a file in parallel."),
+
+            // compressed compiled files
+            load("compress", true, "nocompress", "compress", "Compresses compiled files, uncompressed ones are bigger but memory-mapped and faster to load."),
+
+            // register (call trace)
+            load("register", true, "noreg", "reg", "Keeps a trace of the latest calls, printed when an error occurs."),
+
+            // virtual threads for async code (jdk 21+)
+            load("virtualthreads", false, "novthreads", "vthreads", "Runs async functions and blocks on virtual threads when the JVM supports them."),
+
+            // buffered console output
+            load("bufferedoutput", false, "nobufout", "bufout", "Buffers the console output, written when full, on exit, on input and on flush().")
+    };
+
+    /**
+     * Array of options that take an integer value, given as {@code -name=value}.
+     */
+    private static final ValueOption[] VALUE_OPTIONS = {
+            // async threads (pool size)
+            loadValue("asyncthreads", Math.max(4, Runtime.getRuntime().availableProcessors()), "asyncthreads", "Number of threads running async functions and blocks.")
     };
 
     /**
@@ -47,12 +76,18 @@ public final class ClarityRunningInformation {
      */
     private final Map<String, Boolean> loadedOptions;
 
+    /**
+     * A map that holds the loaded value options from the command-line arguments.
+     */
+    private final Map<String, Integer> loadedValues;
+
     /**
      * Constructor that initializes the {@code ClarityRunningInformation} object
      * by parsing command-line arguments and loading the corresponding options.
      */
     public ClarityRunningInformation() {
         loadedOptions = new HashMap<>();
+        loadedValues = new HashMap<>();
 
         final String[] args = Clarity.ARGS;
 
@@ -69,12 +104,25 @@ public final class ClarityRunningInformation {
                     count++;
                 }
             }
+            for (final ValueOption option : VALUE_OPTIONS) {
+                if (arg.startsWith(option.arg + "=")) {
+                    try {
+                        loadedValues.put(option.name, Integer.parseInt(arg.substring(option.arg.length() + 1)));
+                    } catch (final NumberFormatException e) {
+                        System.err.println("Invalid value for option " + option.name + ": " + arg);
+                    }
+                    count++;
+                }
+            }
         }
         Clarity.ASC = count;
         // Set the default value for options that were not provided in the arguments
         for (final Option option : OPTIONS) {
             loadedOptions.putIfAbsent(option.name, option.def);
         }
+        for (final ValueOption option : VALUE_OPTIONS) {
+            loadedValues.putIfAbsent(option.name, option.def);
+        }
     }
 
     /**
@@ -90,6 +138,18 @@ public final class ClarityRunningInformation {
         return new Option(name, def, argFalse, argTrue, description);
     }
 
+    /**
+     * Creates and returns a new {@code ValueOption} object with the given parameters.
+     *
+     * @param name the name of the option
+     * @param def  the default value for the option
+     * @param arg  the argument that sets the option, followed by {@code =value}
+     * @return a new {@code ValueOption} object
+     */
+    private static ValueOption loadValue(final String name, final int def, final String arg, final String description) {
+        return new ValueOption(name, def, arg, description);
+    }
+
     /**
      * Returns the boolean value of the specified option.
      * If the option was not provided in the arguments, the default value is used.
@@ -101,6 +161,17 @@ public final class ClarityRunningInformation {
         return loadedOptions.getOrDefault(name, false);
     }
 
+    /**
+     * Returns the integer value of the specified value option.
+     * If the option was not provided in the arguments, the default value is used.
+     *
+     * @param name the name of the option
+     * @return the value of the specified option, or {@code 0} if not found
+     */
+    public int getValue(final String name) {
+        return loadedValues.getOrDefault(name, 0);
+    }
+
     /**
      * Prints all the options and their description.
      */
@@ -116,6 +187,14 @@ public final class ClarityRunningInformation {
                     .append("\n");
         }
 
+        for (final ValueOption option : VALUE_OPTIONS) {
+            sb.append("\t").append(option.name).append(": ")
+                    .append("\n\t\tDefault: ").append(option.def)
+                    .append("\n\t\tSet: '").append(option.arg).append("=<value>'")
+                    .append("\n\t\tDescription: ").append(option.description)
+                    .append("\n");
+        }
+
         System.out.println(sb);
     }
 
@@ -165,4 +244,44 @@ public final class ClarityRunningInformation {
             this.description = description;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * A static class representing a single option that takes an integer value.
+     */
+    private static class ValueOption {
+        /**
+         * The name of the option.
+         */
+        public final String name;
+
+        /**
+         * The default value of the option.
+         */
+        public final int def;
+
+        /**
+         * The argument that sets the option.
+         */
+        public final String arg;
+
+        /**
+         * The description of the option.
+         */
+        public final String description;
+
+        /**
+         * Constructs a new {@code ValueOption} object with the given parameters.
+         *
+         * @param name        the name of the option
+         * @param def         the default value of the option
+         * @param arg         the argument that sets the option, followed by {@code =value}
+         * @param description the description of the option
+         */
+        private ValueOption(final String name, final int def, final String arg, final String description) {
+            this.name = name;
+            this.def = def;
+            this.arg = "-" + arg;
+            this.description = description;
+        }
+    }
+}
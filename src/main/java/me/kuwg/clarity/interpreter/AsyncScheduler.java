@@ -0,0 +1,206 @@
+package me.kuwg.clarity.interpreter;
+
+import me.kuwg.clarity.Clarity;
+import me.kuwg.clarity.info.ClarityRunningInformation;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Runs async functions and blocks on a bounded pool instead of one thread each.
+ * <p>
+ * Work goes to a work-stealing pool with {@code asyncthreads} threads, or to virtual threads on JDK 21+ when the
+ * {@code virtualthreads} option is enabled. At most {@code QUEUE_PER_THREAD} tasks per thread may be queued: past
+ * that, code outside the pool that starts async work waits for a slot. Tasks started from async code skip the
+ * limit, so they cannot deadlock waiting for their own parent.
+ * </p>
+ * <p>
+ * The threads are daemons, {@link #awaitIdle()} is how the launcher waits for pending tasks before exiting.
+ * </p>
+ */
+public final class AsyncScheduler {
+
+    private static final int QUEUE_PER_THREAD = 256;
+
+    private static final ThreadLocal<Boolean> IN_TASK = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private static volatile AsyncScheduler instance;
+
+    private final ExecutorService executor;
+    private final boolean virtual;
+    private final int threads;
+    private final Semaphore permits;
+
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicInteger peak = new AtomicInteger();
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+    private final Object idle = new Object();
+
+    private AsyncScheduler(final int threads, final boolean virtualThreads) {
+        this.threads = Math.max(1, threads);
+        final ExecutorService virtualExecutor = virtualThreads ? newVirtualThreadExecutor() : null;
+        this.virtual = virtualExecutor != null;
+        this.executor = virtual ? virtualExecutor : new ForkJoinPool(this.threads, pool -> {
+            final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("clarity-async-" + thread.getPoolIndex());
+            return thread;
+        }, null, true);
+        this.permits = new Semaphore(this.threads * QUEUE_PER_THREAD);
+    }
+
+    /**
+     * Returns the scheduler, creating it from the running options on first use.
+     */
+    public static AsyncScheduler getInstance() {
+        AsyncScheduler scheduler = instance;
+        if (scheduler == null) {
+            synchronized (AsyncScheduler.class) {
+                scheduler = instance;
+                if (scheduler == null) {
+                    final ClarityRunningInformation information = Clarity.INFORMATION;
+                    scheduler = information != null
+                            ? new AsyncScheduler(information.getValue("asyncthreads"), information.getOption("virtualthreads"))
+                            : new AsyncScheduler(Math.max(4, Runtime.getRuntime().availableProcessors()), false);
+                    instance = scheduler;
+                }
+            }
+        }
+        return scheduler;
+    }
+
+    /**
+     * Waits until no async task is pending, if the scheduler was ever used.
+     *
+     * @return {@code true} if there were tasks to wait for.
+     */
+    public static boolean awaitIdle() {
+        final AsyncScheduler scheduler = instance;
+        if (scheduler == null || scheduler.pending.get() == 0) return false;
+
+        synchronized (scheduler.idle) {
+            while (scheduler.pending.get() != 0) {
+                try {
+                    scheduler.idle.wait();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return true;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Prints the scheduler metrics, if the scheduler was ever used.
+     */
+    public static void printMetrics() {
+        final AsyncScheduler scheduler = instance;
+        if (scheduler != null) System.out.println(scheduler.metrics());
+    }
+
+    /**
+     * Runs a task asynchronously, the thread running it is named after the task while it runs.
+     *
+     * @param name The task name, as seen by {@code currentThreadName}.
+     * @param task The task to run.
+     */
+    public void execute(final String name, final Runnable task) {
+        final boolean acquired = acquire();
+
+        submitted.incrementAndGet();
+        peak.accumulateAndGet(pending.incrementAndGet(), Math::max);
+
+        executor.execute(() -> {
+            IN_TASK.set(Boolean.TRUE);
+            final Thread thread = Thread.currentThread();
+            final String previousName = thread.getName();
+            thread.setName(name);
+            try {
+                task.run();
+            } catch (final Throwable t) {
+                System.err.print("Exception in thread \"" + name + "\" ");
+                t.printStackTrace(System.err);
+            } finally {
+                thread.setName(previousName);
+                if (acquired) permits.release();
+                completed.incrementAndGet();
+                if (pending.decrementAndGet() == 0) {
+                    synchronized (idle) {
+                        idle.notifyAll();
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Runs a task asynchronously and returns its result as a future.
+     *
+     * @see #execute(String, Runnable)
+     */
+    public <T> CompletableFuture<T> supply(final String name, final Supplier<T> task) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        execute(name, () -> {
+            try {
+                future.complete(task.get());
+            } catch (final Throwable t) {
+                future.completeExceptionally(t);
+            }
+        });
+        return future;
+    }
+
+    private boolean acquire() {
+        if (IN_TASK.get()) return false;
+        if (permits.tryAcquire()) return true;
+
+        throttled.incrementAndGet();
+        try {
+            permits.acquire();
+            return true;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Returns the number of tasks submitted but not finished yet.
+     */
+    public int getQueueDepth() {
+        return pending.get();
+    }
+
+    /**
+     * Returns a summary of the scheduler activity.
+     */
+    public String metrics() {
+        return "Async scheduler (" + (virtual ? "virtual threads" : threads + " threads") + "):\n" +
+                "  Submitted: " + submitted.get() + "\n" +
+                "  Completed: " + completed.get() + "\n" +
+                "  Queue depth: " + pending.get() + " (peak " + peak.get() + ", limit " + threads * QUEUE_PER_THREAD + ")\n" +
+                "  Throttled submissions: " + throttled.get();
+    }
+
+    @Override
+    public String toString() {
+        return metrics();
+    }
+
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (final ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+}
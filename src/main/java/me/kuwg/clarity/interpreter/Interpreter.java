@@ -15,6 +15,7 @@ import me.kuwg.clarity.ast.nodes.clazz.cast.NativeCastNode;
 import me.kuwg.clarity.ast.nodes.clazz.envm.EnumDeclarationNode;
 import me.kuwg.clarity.ast.nodes.clazz.virtual.VirtualClassDeclarationNode;
 import me.kuwg.clarity.ast.nodes.expression.BinaryExpressionNode;
+import me.kuwg.clarity.ast.nodes.expression.BinaryOperator;
 import me.kuwg.clarity.ast.nodes.function.call.*;
 import me.kuwg.clarity.ast.nodes.function.declare.*;
 import me.kuwg.clarity.ast.nodes.include.IncludeNode;
@@ -34,10 +35,12 @@ import me.kuwg.clarity.interpreter.context.Context;
 import me.kuwg.clarity.interpreter.definition.*;
 import me.kuwg.clarity.interpreter.natf.NativeFunctionNode;
 import me.kuwg.clarity.library.natives.ClarityNativeFunction;
+import me.kuwg.clarity.library.objects.NativeField;
 import me.kuwg.clarity.library.objects.ObjectType;
 import me.kuwg.clarity.library.objects.VoidObject;
 import me.kuwg.clarity.library.objects.types.ClassObject;
 import me.kuwg.clarity.library.objects.types.LambdaObject;
+import me.kuwg.clarity.library.objects.types.PrimitiveArray;
 import me.kuwg.clarity.library.privilege.Privileges;
 import me.kuwg.clarity.nmh.NativeMethodHandler;
 import me.kuwg.clarity.register.Register;
@@ -49,8 +52,6 @@ import me.kuwg.clarity.util.StillTesting;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
 import static me.kuwg.clarity.ast.nodes.clazz.cast.CastType.*;
@@ -59,9 +60,9 @@ import static me.kuwg.clarity.interpreter.definition.ContinueValue.CONTINUE;
 import static me.kuwg.clarity.library.objects.VoidObject.VOID_OBJECT;
 import static me.kuwg.clarity.library.objects.VoidObject.VOID_RETURN;
 import static me.kuwg.clarity.register.Register.RegisterElementType.*;
+import static me.kuwg.clarity.util.ValueCache.*;
 
 public final class Interpreter {
-    private static final ExecutorService ASYNC_POOL = Executors.newCachedThreadPool();
 
     private final AST ast;
     private final NativeMethodHandler nmh;
@@ -85,6 +86,7 @@ public final class Interpreter {
 
         MainFunctionDeclarationNode main = null;
 
+        final List<ASTNode> program = new ArrayList<>();
         for (final ASTNode node : ast.getRoot()) {
             if (node instanceof MainFunctionDeclarationNode) {
                 if (main != null) {
@@ -92,13 +94,13 @@ public final class Interpreter {
                     throw new RuntimeException();
                 }
                 main = (MainFunctionDeclarationNode) node;
-                ast.getRoot().getChildren().remove(node);
             } else {
-                if (preInterpret(node, ast.getRoot(), general)) {
-                    ast.getRoot().getChildren().remove(node);
-                }
+                final ASTNode kept = preInterpret(node, general);
+                if (kept != null) program.add(kept);
             }
         }
+        general.useFrame(main != null ? main.getBlock().getFrame() : ast.getRoot().getFrame());
+
         final int ret;
 
         if (main != null) {
@@ -117,7 +119,9 @@ public final class Interpreter {
                 ret = ((Long) result).intValue();
             }
         } else {
-            if (interpretNode(ast.getRoot(), general) != VOID_OBJECT) {
+            final BlockNode root = new BlockNode(program);
+            root.setFrame(ast.getRoot().getFrame());
+            if (interpretNode(root, general) != VOID_OBJECT) {
                 except("Unexpected return without main function");
                 ret = 1;
             } else {
@@ -128,243 +132,83 @@ public final class Interpreter {
 
         checkExemption();
 
-        if (Clarity.SPEED_INFO) PerformanceHistogram.showHistogram();
+        if (Clarity.SPEED_INFO) {
+            AsyncScheduler.printMetrics();
+            PerformanceHistogram.showHistogram();
+        }
 
         return ret;
     }
 
-    private boolean preInterpret(final ASTNode node, final BlockNode block, final Context context) {
+    /**
+     * Declares the functions, classes and includes of a block before it runs.
+     *
+     * @return The node to keep in the block, or null if it was consumed.
+     */
+    private ASTNode preInterpret(final ASTNode node, final Context context) {
         if (node instanceof FunctionDeclarationNode) {
             interpretFunctionDeclaration((FunctionDeclarationNode) node, context);
-            return true;
+            return null;
         } else if (node instanceof ClassDeclarationNode) {
             final ClassDeclarationNode cdn = (ClassDeclarationNode) node;
             if (context.getClass(cdn.getName()) == VOID_OBJECT) interpretClassDeclaration(cdn, context);
-            return true;
+            return null;
         } else if (node instanceof EnumDeclarationNode) {
             final EnumDeclarationNode cdn = (EnumDeclarationNode) node;
             if (context.getClass(cdn.getName()) == VOID_OBJECT) interpretEnumDeclaration(cdn, context);
-            return true;
+            return null;
         } else if (node instanceof IncludeNode) {
             interpretInclude((IncludeNode) node, context);
-            return true;
+            return null;
         } else if (node instanceof ReflectedNativeFunctionDeclaration) {
             final ReflectedNativeFunctionDeclaration reflected = (ReflectedNativeFunctionDeclaration) node;
             if (reflected.isStatic()) {
                 interpretReflectedNativeFunctionDeclaration(reflected, context);
-                return true;
+                return null;
             }
-            return false;
+            return node;
         } else if (node instanceof AnnotationDeclarationNode) {
             interpretAnnotationDeclaration((AnnotationDeclarationNode) node, context);
-            return true;
+            return null;
         } else if (node instanceof StaticBlockNode) {
             interpretStaticBlock((StaticBlockNode) node, context);
-            return true;
+            return null;
         } else if (node instanceof DefaultNativeFunctionCallNode && Clarity.INFORMATION.getOption("loadnatives")) {
             DefaultNativeFunctionCallNode def = (DefaultNativeFunctionCallNode) node;
 
             final ClarityNativeFunction<?> natf = nmh.getDefault(def.getName());
 
             if (natf != null && natf.getName().equals(def.getName())) {
-                final ASTNode newNode = new NativeFunctionNode(natf, def.getParams());
-                final int index = block.getChildren().indexOf(node);
-                block.getChildren().set(index, newNode);
+                return new NativeFunctionNode(natf, def.getParams());
             }
 
-            return false;
+            return node;
         } else if (node instanceof PreInterpretable) {
-            final BlockNode inside = ((PreInterpretable) node).getBlock();
-            for (final ASTNode sub : inside) {
-                if (preInterpret(sub, inside, context)) {
-                    inside.getChildren().remove(sub);
-                }
+            final PreInterpretable preInterpretable = (PreInterpretable) node;
+            if (preInterpretable.getBlock() != null) {
+                preInterpretable.setBlock(preInterpretable.getBlock().map(sub -> preInterpret(sub, context)));
             }
 
-            return false;
+            return node;
         } else {
-            return false;
+            return node;
         }
     }
 
     public Object interpretNode(final ASTNode node, final Context context) {
+        if (node == null) throw new UnsupportedOperationException("Unsupported node: null");
         if (Clarity.SPEED_INFO) return interpretNodeTiming(node, context);
 
         checkExemption();
 
-        if (node instanceof BlockNode) return interpretBlock((BlockNode) node, context);
-        else if (node instanceof VariableDeclarationNode) return interpretVariableDeclaration((VariableDeclarationNode) node, context);
-        else if (node instanceof BinaryExpressionNode) return interpretBinaryExpression((BinaryExpressionNode) node, context);
-        else if (node instanceof DefaultNativeFunctionCallNode) return interpretDefaultNativeFunctionCall((DefaultNativeFunctionCallNode) node, context);
-        else if (node instanceof IntegerNode) return ((IntegerNode) node).getValue();
-        else if (node instanceof DecimalNode) return ((DecimalNode) node).getValue();
-        else if (node instanceof LiteralNode) return ((LiteralNode) node).getValue();
-        else if (node instanceof VariableReferenceNode) return interpretVariableReference((VariableReferenceNode) node, context);
-        else if (node instanceof FunctionCallNode) return interpretFunctionCall((FunctionCallNode) node, context);
-        else if (node instanceof ReturnNode) return interpretReturn((ReturnNode) node, context);
-        else if (node instanceof ClassInstantiationNode) return interpretClassInstantiation((ClassInstantiationNode) node, context);
-        else if (node instanceof FunctionDeclarationNode) return interpretFunctionDeclaration((FunctionDeclarationNode) node, context);
-        else if (node instanceof ClassDeclarationNode) return interpretClassDeclaration((ClassDeclarationNode) node, context);
-        else if (node instanceof VariableReassignmentNode) return interpretVariableReassignment((VariableReassignmentNode) node, context);
-        else if (node instanceof ObjectFunctionCallNode) return interpretObjectFunctionCall((ObjectFunctionCallNode) node, context);
-        else if (node instanceof LocalVariableReferenceNode) return interpretLocalVariableReference((LocalVariableReferenceNode) node, context);
-        else if (node instanceof LocalFunctionCallNode) return interpretLocalFunctionCall((LocalFunctionCallNode) node, context);
-        else if (node instanceof ObjectVariableReferenceNode) return interpretObjectVariableReference((ObjectVariableReferenceNode) node, context);
-        else if (node instanceof ObjectVariableReassignmentNode) return interpretObjectVariableReassignment((ObjectVariableReassignmentNode) node, context);
-        else if (node instanceof VoidNode) return VOID_RETURN;
-        else if (node instanceof PackagedNativeFunctionCallNode) return interpretPackagedNativeFunctionCall((PackagedNativeFunctionCallNode) node, context);
-        else if (node instanceof ArrayNode) return interpretArray((ArrayNode) node, context);
-        else if (node instanceof IfNode) return interpretIf((IfNode) node, context);
-        else if (node instanceof NullNode) return null;
-        else if (node instanceof ForNode) return interpretFor((ForNode) node, context);
-        else if (node instanceof WhileNode) return interpretWhile((WhileNode) node, context);
-        else if (node instanceof BooleanNode) return ((BooleanNode) node).getValue();
-        else if (node instanceof ForeachNode) return interpretForeach((ForeachNode) node, context);
-        else if (node instanceof ReflectedNativeFunctionDeclaration) return interpretReflectedNativeFunctionDeclaration((ReflectedNativeFunctionDeclaration) node, context);
-        else if (node instanceof NativeClassDeclarationNode) return interpretNativeClassDeclaration((NativeClassDeclarationNode) node, context);
-        else if (node instanceof LocalVariableReassignmentNode) return interpretLocalVariableReassignment((LocalVariableReassignmentNode) node, context);
-        else if (node instanceof SelectNode) return interpretSelect((SelectNode) node, context);
-        else if (node instanceof BreakNode) return BREAK;
-        else if (node instanceof ContinueNode) return CONTINUE;
-        else if (node instanceof NativeCastNode) return interpretNativeCast((NativeCastNode) node, context);
-        else if (node instanceof ConditionedReturnNode) return interpretConditionedReturn((ConditionedReturnNode) node, context);
-        else if (node instanceof MemberFunctionCallNode) return interpretMemberFunctionCall((MemberFunctionCallNode) node, context);
-        else if (node instanceof AssertNode) return interpretAssert((AssertNode) node, context);
-        else if (node instanceof IsNode) return interpretIs((IsNode) node, context);
-        else if (node instanceof EnumDeclarationNode) return interpretEnumDeclaration((EnumDeclarationNode) node, context);
-        else if (node instanceof AnnotationDeclarationNode) return interpretAnnotationDeclaration((AnnotationDeclarationNode) node, context);
-        else if (node instanceof AnnotationUseNode) return interpretAnnotationUse((AnnotationUseNode) node, context);
-        else if (node instanceof AsyncBlockNode) return interpretAsyncBlock((AsyncBlockNode) node, context);
-        else if (node instanceof RaiseNode) return interpretRaise((RaiseNode) node, context);
-        else if (node instanceof TryExceptBlock) return interpretTryExcept((TryExceptBlock) node, context);
-        else if (node instanceof StaticBlockNode) return interpretStaticBlock((StaticBlockNode) node, context);
-        else if (node instanceof TernaryOperatorNode) return interpretTernaryOperator((TernaryOperatorNode) node, context);
-        else if (node instanceof LambdaBlockNode) return interpretLambdaBlock((LambdaBlockNode) node, context);
-        else if (node instanceof DeleteVariableNode) return interpretDeleteVariable((DeleteVariableNode) node, context);
-        else if (node instanceof DeleteFunctionNode) return interpretDeleteFunction((DeleteFunctionNode) node, context);
-        else if (node instanceof AwaitBlockNode) return interpretAwaitBlock((AwaitBlockNode) node, context);
-        else if (node instanceof AwaitFunctionCallNode) return interpretAwaitFunctionCall((AwaitFunctionCallNode) node, context);
-        else if (node instanceof NativeFunctionNode) return interpretNativeFunction((NativeFunctionNode) node, context);
-        else if (node instanceof LocalReferenceNode) return except("Still not working...", node.getLine());
-        else if (node instanceof VirtualClassDeclarationNode) return interpretVirtualClassDeclaration((VirtualClassDeclarationNode) node, context);
-
-        throw new UnsupportedOperationException("Unsupported node: " + (node == null ? "null" : node.getClass().getSimpleName()) + ", val=" + node);
+        return node.evaluate(this, context);
     }
 
     private Object interpretNodeTiming(final ASTNode node, final Context context) {
         checkExemption();
         final long start = System.nanoTime(); // Start timing
         try {
-            if (node instanceof BlockNode) {
-                return interpretBlock((BlockNode) node, context);
-            } else if (node instanceof VariableDeclarationNode) {
-                return interpretVariableDeclaration((VariableDeclarationNode) node, context);
-            } else if (node instanceof BinaryExpressionNode) {
-                return interpretBinaryExpression((BinaryExpressionNode) node, context);
-            } else if (node instanceof DefaultNativeFunctionCallNode) {
-                return interpretDefaultNativeFunctionCall((DefaultNativeFunctionCallNode) node, context);
-            } else if (node instanceof IntegerNode) {
-                return ((IntegerNode) node).getValue();
-            } else if (node instanceof DecimalNode) {
-                return ((DecimalNode) node).getValue();
-            } else if (node instanceof LiteralNode) {
-                return ((LiteralNode) node).getValue();
-            } else if (node instanceof VariableReferenceNode) {
-                return interpretVariableReference((VariableReferenceNode) node, context);
-            } else if (node instanceof FunctionCallNode) {
-                return interpretFunctionCall((FunctionCallNode) node, context);
-            } else if (node instanceof ReturnNode) {
-                return interpretReturn((ReturnNode) node, context);
-            } else if (node instanceof ClassInstantiationNode) {
-                return interpretClassInstantiation((ClassInstantiationNode) node, context);
-            } else if (node instanceof FunctionDeclarationNode) {
-                return interpretFunctionDeclaration((FunctionDeclarationNode) node, context);
-            } else if (node instanceof ClassDeclarationNode) {
-                return interpretClassDeclaration((ClassDeclarationNode) node, context);
-            } else if (node instanceof VariableReassignmentNode) {
-                return interpretVariableReassignment((VariableReassignmentNode) node, context);
-            } else if (node instanceof ObjectFunctionCallNode) {
-                return interpretObjectFunctionCall((ObjectFunctionCallNode) node, context);
-            } else if (node instanceof LocalVariableReferenceNode) {
-                return interpretLocalVariableReference((LocalVariableReferenceNode) node, context);
-            } else if (node instanceof LocalFunctionCallNode) {
-                return interpretLocalFunctionCall((LocalFunctionCallNode) node, context);
-            } else if (node instanceof ObjectVariableReferenceNode) {
-                return interpretObjectVariableReference((ObjectVariableReferenceNode) node, context);
-            } else if (node instanceof ObjectVariableReassignmentNode) {
-                return interpretObjectVariableReassignment((ObjectVariableReassignmentNode) node, context);
-            } else if (node instanceof VoidNode) {
-                return VOID_RETURN;
-            } else if (node instanceof PackagedNativeFunctionCallNode) {
-                return interpretPackagedNativeFunctionCall((PackagedNativeFunctionCallNode) node, context);
-            } else if (node instanceof ArrayNode) {
-                return interpretArray((ArrayNode) node, context);
-            } else if (node instanceof IfNode) {
-                return interpretIf((IfNode) node, context);
-            } else if (node instanceof NullNode) {
-                return null;
-            } else if (node instanceof ForNode) {
-                return interpretFor((ForNode) node, context);
-            } else if (node instanceof WhileNode) {
-                return interpretWhile((WhileNode) node, context);
-            } else if (node instanceof BooleanNode) {
-                return ((BooleanNode) node).getValue();
-            } else if (node instanceof ForeachNode) {
-                return interpretForeach((ForeachNode) node, context);
-            } else if (node instanceof ReflectedNativeFunctionDeclaration) {
-                return interpretReflectedNativeFunctionDeclaration((ReflectedNativeFunctionDeclaration) node, context);
-            } else if (node instanceof NativeClassDeclarationNode) {
-                return interpretNativeClassDeclaration((NativeClassDeclarationNode) node, context);
-            } else if (node instanceof LocalVariableReassignmentNode) {
-                return interpretLocalVariableReassignment((LocalVariableReassignmentNode) node, context);
-            } else if (node instanceof SelectNode) {
-                return interpretSelect((SelectNode) node, context);
-            } else if (node instanceof BreakNode) {
-                return BREAK;
-            } else if (node instanceof ContinueNode) {
-                return CONTINUE;
-            } else if (node instanceof NativeCastNode) {
-                return interpretNativeCast((NativeCastNode) node, context);
-            } else if (node instanceof ConditionedReturnNode) {
-                return interpretConditionedReturn((ConditionedReturnNode) node, context);
-            } else if (node instanceof MemberFunctionCallNode) {
-                return interpretMemberFunctionCall((MemberFunctionCallNode) node, context);
-            } else if (node instanceof AssertNode) {
-                return interpretAssert((AssertNode) node, context);
-            } else if (node instanceof IsNode) {
-                return interpretIs((IsNode) node, context);
-            } else if (node instanceof EnumDeclarationNode) {
-                return interpretEnumDeclaration((EnumDeclarationNode) node, context);
-            } else if (node instanceof AnnotationDeclarationNode) {
-                return interpretAnnotationDeclaration((AnnotationDeclarationNode) node, context);
-            } else if (node instanceof AnnotationUseNode) {
-                return interpretAnnotationUse((AnnotationUseNode) node, context);
-            } else if (node instanceof AsyncBlockNode) {
-                return interpretAsyncBlock((AsyncBlockNode) node, context);
-            } else if (node instanceof RaiseNode) {
-                return interpretRaise((RaiseNode) node, context);
-            } else if (node instanceof TryExceptBlock) {
-                return interpretTryExcept((TryExceptBlock) node, context);
-            } else if (node instanceof StaticBlockNode) {
-                return interpretStaticBlock((StaticBlockNode) node, context);
-            } else if (node instanceof TernaryOperatorNode) {
-                return interpretTernaryOperator((TernaryOperatorNode) node, context);
-            } else if (node instanceof LambdaBlockNode) {
-                return interpretLambdaBlock((LambdaBlockNode) node, context);
-            } else if (node instanceof DeleteVariableNode) {
-                return interpretDeleteVariable((DeleteVariableNode) node, context);
-            } else if (node instanceof DeleteFunctionNode) {
-                return interpretDeleteFunction((DeleteFunctionNode) node, context);
-            }  else if (node instanceof AwaitBlockNode) {
-                return interpretAwaitBlock((AwaitBlockNode) node, context);
-            } else if (node instanceof AwaitFunctionCallNode) {
-                return interpretAwaitFunctionCall((AwaitFunctionCallNode) node, context);
-            } else if (node instanceof NativeFunctionNode) {
-                return interpretNativeFunction((NativeFunctionNode) node, context);
-            } else if (node instanceof LocalReferenceNode) {
-                return except("Still not working...", node.getLine());
-            }
-            throw new UnsupportedOperationException("Unsupported node: " + node.getClass().getSimpleName() + ", val=" + node);
+            return node.evaluate(this, context);
         } finally {
             MethodTimingRegistry.register(node.getClass().getSimpleName(), System.nanoTime() - start);
         }
@@ -375,8 +219,8 @@ public final class Interpreter {
             return VOID_OBJECT;
         }
 
-        for (final ASTNode node : block) {
-            final Object result = interpretNode(node, context);
+        for (int i = 0, n = block.size(); i < n; i++) {
+            final Object result = interpretNode(block.get(i), context);
             if (result instanceof ReturnValue) {
                 return ((ReturnValue) result).getValue();
             } else if (result instanceof BreakValue) {
@@ -388,7 +232,7 @@ public final class Interpreter {
         return VOID_OBJECT;
     }
 
-    private Object interpretVariableDeclaration(final VariableDeclarationNode node, final Context context) {
+    public Object interpretVariableDeclaration(final VariableDeclarationNode node, final Context context) {
         final ASTNode value = node.getValue();
 
         Object valueObj;
@@ -410,17 +254,17 @@ public final class Interpreter {
             }
         }
 
-        context.defineVariable(node.getName(), new VariableDefinition(node.getName(), node.getTypeDefault(), valueObj, node.isConstant(), node.isStatic(), node.isLocal()));
+        context.defineVariable(node.getSlot(), new VariableDefinition(node.getName(), node.getTypeDefault(), valueObj, node.isConstant(), node.isStatic(), node.isLocal()));
 
         return VOID_OBJECT;
     }
 
-    private Object interpretFunctionDeclaration(final FunctionDeclarationNode node, final Context context) {
+    public Object interpretFunctionDeclaration(final FunctionDeclarationNode node, final Context context) {
         context.defineFunction(node.getFunctionName(), new FunctionDefinition(node));
         return VOID_OBJECT;
     }
 
-    private Object interpretClassDeclaration(final ClassDeclarationNode node, final Context context) {
+    public Object interpretClassDeclaration(final ClassDeclarationNode node, final Context context) {
 
         final String name = node.getName();
 
@@ -492,12 +336,8 @@ public final class Interpreter {
                 }
             } else if (statement instanceof FunctionDeclarationNode) {
                 final FunctionDeclarationNode declarationNode = (FunctionDeclarationNode) statement;
-                final List<String> params = new ArrayList<>();
-
-                declarationNode.getParameterNodes().forEach(param -> params.add(param.getName()));
-
                 if (declarationNode.isStatic()) {
-                    definition.staticFunctions.add(new FunctionDefinition(declarationNode.getFunctionName(), declarationNode.getTypeDefault(), true, declarationNode.isConst(), declarationNode.isLocal(), declarationNode.isAsync(), params, declarationNode.getBlock()));
+                    definition.staticFunctions.add(new FunctionDefinition(declarationNode));
                 }
             } else if (statement instanceof ReflectedNativeFunctionDeclaration) {
                 final Object o = interpretReflectedNativeFunctionDeclaration((ReflectedNativeFunctionDeclaration) statement, context);
@@ -529,135 +369,143 @@ public final class Interpreter {
         return constructors;
     }
 
-    private Object interpretBinaryExpression(final BinaryExpressionNode node, final Context context) {
+    public Object interpretBinaryExpression(final BinaryExpressionNode node, final Context context) {
         final Object leftValue = interpretNode(node.getLeft(), context);
         final Object rightValue = interpretNode(node.getRight(), context);
 
-        final String operator = node.getOperator();
+        final BinaryOperator op = node.getOp();
+
+        if (leftValue instanceof Long && rightValue instanceof Long) {
+            return evaluateIntegerOperation((Long) leftValue, (Long) rightValue, op, node);
+        }
+
+        if (leftValue instanceof Double && rightValue instanceof Double) {
+            return evaluateDoubleOperation((Double) leftValue, (Double) rightValue, op, node);
+        }
 
         if (leftValue == null || rightValue == null) {
-            return handleNullComparison(leftValue, rightValue, operator, node.getLine());
+            return handleNullComparison(leftValue, rightValue, op, node);
         }
 
         if (leftValue instanceof Boolean && rightValue instanceof Boolean) {
-            return evaluateBooleanOperation((Boolean) leftValue, (Boolean) rightValue, operator, node.getLine());
+            return evaluateBooleanOperation((Boolean) leftValue, (Boolean) rightValue, op, node);
         }
 
         if (leftValue instanceof String || rightValue instanceof String) {
-            return handleStringOperation(leftValue, rightValue, operator, node.getLine());
+            return handleStringOperation(leftValue, rightValue, op, node);
         }
 
         if (leftValue instanceof Number && rightValue instanceof Number) {
-            return handleNumericOperation((Number) leftValue, (Number) rightValue, operator, node.getLine());
+            return handleNumericOperation((Number) leftValue, (Number) rightValue, op, node);
         }
 
         if (leftValue instanceof Boolean && rightValue instanceof Long) {
-            return evaluateBooleanOperation((Boolean) leftValue, (long) rightValue == 1, operator, node.getLine());
+            return evaluateBooleanOperation((Boolean) leftValue, (long) rightValue == 1, op, node);
         }
 
         if (leftValue instanceof ClassObject && rightValue instanceof ClassObject) {
-            return evaluateClassObjectOperation((ClassObject) leftValue, (ClassObject) rightValue, operator, node.getLine());
+            return evaluateClassObjectOperation((ClassObject) leftValue, (ClassObject) rightValue, op, node);
         }
 
-        except("Invalid operands for binary expression: " + leftValue.getClass().getSimpleName() + " " + operator + " " + rightValue.getClass().getSimpleName(), node.getLine());
+        except("Invalid operands for binary expression: " + leftValue.getClass().getSimpleName() + " " + node.getOperator() + " " + rightValue.getClass().getSimpleName(), node.getLine());
         return VOID_OBJECT;
     }
 
-    private Object handleNullComparison(final Object leftValue, final Object rightValue, final String operator, final int line) {
-        switch (operator) {
-            case "==":
-                return leftValue == rightValue;
-            case "!=":
-                return leftValue != rightValue;
+    private Object handleNullComparison(final Object leftValue, final Object rightValue, final BinaryOperator op, final BinaryExpressionNode node) {
+        switch (op) {
+            case EQUAL:
+                return box(leftValue == rightValue);
+            case NOT_EQUAL:
+                return box(leftValue != rightValue);
         }
-        except("Only operators available for null are '==' and '!='", line);
+        except("Only operators available for null are '==' and '!='", node.getLine());
         return VOID_OBJECT;
     }
 
-    private Object handleStringOperation(final Object leftValue, final Object rightValue, final String operator, final int line) {
-        switch (operator) {
-            case "+":
+    private Object handleStringOperation(final Object leftValue, final Object rightValue, final BinaryOperator op, final BinaryExpressionNode node) {
+        switch (op) {
+            case ADD:
                 return leftValue.toString() + rightValue.toString();
-            case "==":
-                return leftValue.equals(rightValue);
-            case "!=":
-                return !leftValue.equals(rightValue);
+            case EQUAL:
+                return box(leftValue.equals(rightValue));
+            case NOT_EQUAL:
+                return box(!leftValue.equals(rightValue));
         }
-        except("Operator " + operator + " is not supported for string operands.", line);
+        except("Operator " + node.getOperator() + " is not supported for string operands.", node.getLine());
         return VOID_OBJECT;
     }
 
-    private Object handleNumericOperation(final Number leftNumber, final Number rightNumber, final String operator, final int line) {
+    private Object handleNumericOperation(final Number leftNumber, final Number rightNumber, final BinaryOperator op, final BinaryExpressionNode node) {
         if (leftNumber instanceof Double || leftNumber instanceof Float || rightNumber instanceof Double || rightNumber instanceof Float) {
-            return evaluateDoubleOperation(leftNumber.doubleValue(), rightNumber.doubleValue(), operator, line);
+            return evaluateDoubleOperation(leftNumber.doubleValue(), rightNumber.doubleValue(), op, node);
         } else {
-            return evaluateIntegerOperation(leftNumber.longValue(), rightNumber.longValue(), operator, line);
+            return evaluateIntegerOperation(leftNumber.longValue(), rightNumber.longValue(), op, node);
         }
     }
 
-    private Object evaluateBooleanOperation(final boolean left, final boolean right, final String operator, final int line) {
-        switch (operator) {
-            case "&&": return left && right;
-            case "||": return left || right;
-            case "==": return left == right;
-            case "!=": return left != right;
-            case "^^": return left ^ right;
-            default: return except("Unsupported operator for booleans: " + operator, line);
+    private Object evaluateBooleanOperation(final boolean left, final boolean right, final BinaryOperator op, final BinaryExpressionNode node) {
+        switch (op) {
+            case AND: return box(left && right);
+            case OR: return box(left || right);
+            case EQUAL: return box(left == right);
+            case NOT_EQUAL: return box(left != right);
+            case XOR: return box(left ^ right);
+            default: return except("Unsupported operator for booleans: " + node.getOperator(), node.getLine());
         }
     }
 
-    private Object evaluateDoubleOperation(final double left, final double right, final String operator, final int line) {
-        switch (operator) {
-            case "+": return left + right;
-            case "-": return left - right;
-            case "*": return left * right;
-            case "/": return (right == 0) ? except("Division by zero", line) : left / right;
-            case "%": return left % right;
-            case "^": return Math.pow(left, right);
-            case "<": return left < right;
-            case ">": return left > right;
-            case "<=": return left <= right;
-            case ">=": return left >= right;
-            case "==": return left == right;
-            case "!=": return left != right;
-            default: return except("Unsupported operator for floats: " + operator, line);
+    private Object evaluateDoubleOperation(final double left, final double right, final BinaryOperator op, final BinaryExpressionNode node) {
+        switch (op) {
+            case ADD: return left + right;
+            case SUBTRACT: return left - right;
+            case MULTIPLY: return left * right;
+            case DIVIDE: return (right == 0) ? except("Division by zero", node.getLine()) : left / right;
+            case MODULO: return left % right;
+            case POWER: return Math.pow(left, right);
+            case LESS: return box(left < right);
+            case GREATER: return box(left > right);
+            case LESS_EQUAL: return box(left <= right);
+            case GREATER_EQUAL: return box(left >= right);
+            case EQUAL: return box(left == right);
+            case NOT_EQUAL: return box(left != right);
+            default: return except("Unsupported operator for floats: " + node.getOperator(), node.getLine());
         }
     }
 
-    private Object evaluateIntegerOperation(final long left, final long right, final String operator, final int line) {
-        switch (operator) {
-            case "+": return left + right;
-            case "-": return left - right;
-            case "*": return left * right;
-            case "/": return (right == 0) ? except("Division by zero", line) : left / right;
-            case "%": return (right == 0) ? except("Modulo by zero", line) : left % right;
-            case "^": return Math.pow(left, right) % 1 == 0 ? (long) Math.pow(left, right) : Math.pow(left, right);
-            case "<": return left < right;
-            case ">": return left > right;
-            case "<=": return left <= right;
-            case ">=": return left >= right;
-            case "==": return left == right;
-            case "!=": return left != right;
-            case ">>": return left >> right;
-            case "<<": return left << right;
-            case "&": return left & right;
-            case "|": return left | right;
-            case "^^": return left ^ right;
-            case ">>>": return left >>> right;
-            default: return except("Unsupported operator for integers: " + operator, line);
+    private Object evaluateIntegerOperation(final long left, final long right, final BinaryOperator op, final BinaryExpressionNode node) {
+        switch (op) {
+            case ADD: return box(left + right);
+            case SUBTRACT: return box(left - right);
+            case MULTIPLY: return box(left * right);
+            case DIVIDE: return (right == 0) ? except("Division by zero", node.getLine()) : box(left / right);
+            case MODULO: return (right == 0) ? except("Modulo by zero", node.getLine()) : box(left % right);
+            case POWER: return Math.pow(left, right) % 1 == 0 ? (long) Math.pow(left, right) : Math.pow(left, right);
+            case LESS: return box(left < right);
+            case GREATER: return box(left > right);
+            case LESS_EQUAL: return box(left <= right);
+            case GREATER_EQUAL: return box(left >= right);
+            case EQUAL: return box(left == right);
+            case NOT_EQUAL: return box(left != right);
+            case SHIFT_RIGHT: return box(left >> right);
+            case SHIFT_LEFT: return box(left << right);
+            case BITWISE_AND: return box(left & right);
+            case BITWISE_OR: return box(left | right);
+            case XOR: return box(left ^ right);
+            case UNSIGNED_SHIFT_RIGHT: return box(left >>> right);
+            default: return except("Unsupported operator for integers: " + node.getOperator(), node.getLine());
         }
     }
 
-    private Object evaluateClassObjectOperation(final ClassObject left, final ClassObject right, final String operator, final int line) {
-        switch (operator) {
-            case "==": return left == right;
-            case "!=": return left != right;
-            default: return except("Unsupported operator for class objects: " + operator, line);
+    private Object evaluateClassObjectOperation(final ClassObject left, final ClassObject right, final BinaryOperator op, final BinaryExpressionNode node) {
+        switch (op) {
+            case EQUAL: return box(left == right);
+            case NOT_EQUAL: return box(left != right);
+            default: return except("Unsupported operator for class objects: " + node.getOperator(), node.getLine());
         }
     }
 
 
-    private Object interpretDefaultNativeFunctionCall(final DefaultNativeFunctionCallNode node, final Context context) {
+    public Object interpretDefaultNativeFunctionCall(final DefaultNativeFunctionCallNode node, final Context context) {
         final List<Object> params = new ArrayList<>(node.getParams().size());
         for (final ASTNode param : node.getParams()) {
             final Object added = interpretNode(param, context);
@@ -667,19 +515,19 @@ public final class Interpreter {
             }
             params.add(added);
         }
-        Register.register(NATIVECALL, node.getName() + getParams(params), node.getLine(), context.getCurrentClassName());
+        Register.register(NATIVECALL, node.getName(), params, node.getLine(), context);
         return nmh.callDefault(node.getName(), params);
     }
 
-    private Object interpretVariableReference(final VariableReferenceNode node, final Context context) {
-        final Object value = context.getVariable(node.getName());
+    public Object interpretVariableReference(final VariableReferenceNode node, final Context context) {
+        final Object value = context.getVariable(node.getDepth(), node.getSlot(), node.getName());
         if (value instanceof VoidObject) {
             except("Referencing a non-defined variable: " + node.getName(), node.getLine());
         }
         return value;
     }
 
-    private Object interpretFunctionCall(final FunctionCallNode node, Context context) {
+    public Object interpretFunctionCall(final FunctionCallNode node, Context context) {
         final String functionName = ((VariableReferenceNode) node.getCaller()).getName();
         context.setCurrentFunctionName(functionName);
 
@@ -692,7 +540,7 @@ public final class Interpreter {
             params.add(returned);
         }
 
-        final ObjectType type = context.getFunction(functionName, params.size());
+        final ObjectType type = node.getFunctionCache().lookup(context, functionName, params.size());
         final FunctionDefinition definition;
 
         if (type == VOID_OBJECT) {
@@ -720,7 +568,7 @@ public final class Interpreter {
             return except("Incorrect parameter count (" + paramSize + " vs " + expectedSize + ") in fn: " + functionName, node.getLine());
         }
 
-        final Context functionContext = new Context(context.parentContext());
+        final Context functionContext = new Context(context.parentContext(), definition.getBlock().getFrame());
         final List<String> definitionParams = definition.getParams();
         for (int i = 0; i < definitionParams.size(); i++) {
             final String name = definitionParams.get(i);
@@ -728,10 +576,11 @@ public final class Interpreter {
             functionContext.defineVariable(name, new VariableDefinition(name, null, value, false, false, false));
         }
 
-        Register.register(FUNCALL, functionName + getParams(params), node.getLine(), context.getCurrentClassName());
+        Register.register(FUNCALL, functionName, params, node.getLine(), context);
 
         if (definition.isAsync()) {
-            new Thread(() -> interpretBlock(definition.getBlock(), functionContext), "async:" + functionName).start();
+            functionContext.retain();
+            AsyncScheduler.getInstance().execute("async:" + functionName, () -> interpretBlock(definition.getBlock(), functionContext));
             return VOID_OBJECT;
         }
 
@@ -761,7 +610,7 @@ public final class Interpreter {
             match = typeDefault.equals("float");
         } else if (result instanceof ClassObject) {
             match = typeDefault.equals(((ClassObject) result).getName());
-        } else if (result instanceof Object[]) {
+        } else if (result instanceof Object[] || result instanceof PrimitiveArray) {
             match = typeDefault.equals("arr");
         } else if (result instanceof Boolean) {
             match = typeDefault.equals("bool");
@@ -772,16 +621,16 @@ public final class Interpreter {
         return !match;
     }
 
-    private Object interpretReturn(final ReturnNode node, final Context context) {
+    public Object interpretReturn(final ReturnNode node, final Context context) {
         final Object ret = interpretNode(node.getValue(), context);
         if (ret instanceof ReturnValue) return except("Return in return", node.getLine());
         return new ReturnValue(ret);
     }
 
-    private Object interpretClassInstantiation(final ClassInstantiationNode node, final Context context) {
+    public Object interpretClassInstantiation(final ClassInstantiationNode node, final Context context) {
         final String name = node.getName();
 
-        Register.register(CLASSINST, name, node.getLine(), context.getCurrentClassName() == null ? "none" : context.getCurrentClassName());
+        if (Register.isEnabled()) Register.register(CLASSINST, name, node.getLine(), context.getCurrentClassName() == null ? "none" : context.getCurrentClassName());
 
         final String ocn = context.getCurrentClassName();
 
@@ -789,6 +638,7 @@ public final class Interpreter {
 
         // Create a new context for the class instantiation
         final Context classContext = new Context(context.parentContext());
+        classContext.retain();
 
         // Directly initialize the params list with the expected size if known
         final List<Object> params = new ArrayList<>(node.getParams().size());
@@ -823,7 +673,7 @@ public final class Interpreter {
             context.setCurrentClassName(name);
 
             final FunctionDefinition[] inheritedConstructors = inheritedClass.getConstructors();
-            inheritedObject = interpretConstructors(inheritedObject, inheritedConstructors, params, classContext, inheritedClass.getName());
+            inheritedObject = interpretConstructors(inheritedObject, inheritedConstructors, params, classContext, inheritedClass);
             classContext.mergeContext(inheritedObject.getContext());
 
             currentDefinition = inheritedClass;
@@ -834,14 +684,15 @@ public final class Interpreter {
         if (val != VOID_OBJECT) {
             return except("Return in class body", node.getLine());
         }
-        final ClassObject result = interpretConstructors(inheritedObject, definition.getConstructors(), params, classContext, name);
+        final ClassObject result = interpretConstructors(inheritedObject, definition.getConstructors(), params, classContext, definition);
         context.setCurrentClassName(ocn);
         return result;
     }
 
-    public ClassObject interpretConstructors(final ClassObject inherited, final FunctionDefinition[] constructors, final List<Object> params, final Context context, final String cn) {
+    public ClassObject interpretConstructors(final ClassObject inherited, final FunctionDefinition[] constructors, final List<Object> params, final Context context, final ClassDefinition definition) {
+        final String cn = definition.getName();
         if (constructors.length == 0) {
-            return new ClassObject(cn, inherited, new Context(context));
+            return new ClassObject(cn, inherited, new Context(context), definition);
         }
 
         FunctionDefinition matchingConstructor = null;
@@ -859,7 +710,7 @@ public final class Interpreter {
 
         final List<String> constructorParams = matchingConstructor.getParams();
 
-        final Context constructorContext = new Context(context);
+        final Context constructorContext = new Context(context, matchingConstructor.getBlock().getFrame());
 
         for (int i = 0; i < constructorParams.size(); i++) {
             if (params.get(i) instanceof VoidObject) {
@@ -876,17 +727,17 @@ public final class Interpreter {
             return new ClassObject(null, null, null);
         }
 
-        return new ClassObject(cn, inherited, constructorContext);
+        return new ClassObject(cn, inherited, constructorContext, definition);
     }
 
-    private Object interpretVariableReassignment(final VariableReassignmentNode node, final Context context) {
+    public Object interpretVariableReassignment(final VariableReassignmentNode node, final Context context) {
         final Object result = interpretNode(node.getValue(), context);
         if (result instanceof VoidObject) return except("Reassigning variable with void value: " + node.getName(), node.getLine());
-        context.setVariable(node.getName(), result);
+        context.setVariable(node.getDepth(), node.getSlot(), node.getName(), result);
         return result;
     }
 
-    private Object interpretObjectFunctionCall(final ObjectFunctionCallNode node, final Context context) {
+    public Object interpretObjectFunctionCall(final ObjectFunctionCallNode node, final Context context) {
         final Object caller = context.getVariable(node.getCaller());
         if (caller instanceof Object[]) {
             Object resultArray = handleArrayFunctionCall(node, context, (Object[]) caller);
@@ -895,6 +746,13 @@ public final class Interpreter {
                 return VOID_OBJECT;
             }
             return resultArray;
+        } else if (caller instanceof PrimitiveArray) {
+            final Object result = handlePrimitiveArrayFunctionCall(node, context, (PrimitiveArray) caller);
+            if (result instanceof PrimitiveArray) {
+                context.setVariable(node.getCaller(), result);
+                return VOID_OBJECT;
+            }
+            return result;
         } else if (caller instanceof String) {
             return handleStringFunctionCall(node, context, (String) caller);
         } else if (caller instanceof ClassObject) {
@@ -930,10 +788,10 @@ public final class Interpreter {
 
         final List<Object> params = getFunctionParameters(node, context, definition.getParams().size());
 
-        final Context functionContext = new Context(context);
+        final Context functionContext = new Context(context, definition.getBlock().getFrame());
         defineFunctionParameters(functionContext, definition, params);
 
-        Register.register(STATICCALL, node.getCalled() + getParams(params), node.getLine(), context.getCurrentClassName());
+        Register.register(STATICCALL, node.getCalled(), params, node.getLine(), context);
         final Object result = interpretBlock(definition.getBlock(), functionContext);
         context.setCurrentClassName(ocn);
         context.setCurrentFunctionName(null);
@@ -963,14 +821,14 @@ public final class Interpreter {
 
         final List<Object> params = getFunctionParameters(node, context, definition.getParams().size());
 
-        final Context functionContext = new Context(context);
+        final Context functionContext = new Context(context, definition.getBlock().getFrame());
         defineFunctionParameters(functionContext, definition, params);
 
         if (definition.isLocal() && !classDefinition.getName().equals(preName)) {
             return except("Accessing a local function: " + definition.getName(), node.getLine());
         }
 
-        Register.register(STATICCALL, node.getName() + getParams(params), node.getLine(), context.getCurrentClassName());
+        Register.register(STATICCALL, node.getName(), params, node.getLine(), context);
         final Object result = interpretBlock(definition.getBlock(), functionContext);
         context.setCurrentClassName(ocn);
         context.setCurrentFunctionName(null);
@@ -1008,7 +866,7 @@ public final class Interpreter {
             return VOID_OBJECT;
         }
 
-        Register.register(ARRAYCALL, fn + getParams(params), raw.getLine(), context.getCurrentClassName());
+        Register.register(ARRAYCALL, fn, params, raw.getLine(), context);
 
 
         switch (fn) {
@@ -1048,19 +906,26 @@ public final class Interpreter {
                 }
             }
             case "push": {
-                final List<Object> list = new ArrayList<>(Arrays.asList(array));
-                list.addAll(params);
-                return list.toArray();
+                // arrays have a fixed size, so this is still a copy: use List to append in a loop
+                final Object[] pushed = Arrays.copyOf(array, array.length + params.size());
+                for (int i = 0; i < params.size(); i++) pushed[array.length + i] = params.get(i);
+                return pushed;
             }
             case "splice": {
                 if (params.size() >= 2 && params.get(0) instanceof Long && params.get(1) instanceof Long) {
                     final int start = ((Long) params.get(0)).intValue();
                     final int deleteCount = ((Long) params.get(1)).intValue();
-                    final List<Object> spliced = new ArrayList<>(Arrays.asList(array));
-                    final int end = Math.min(start + deleteCount, spliced.size());
-                    spliced.subList(start, end).clear();
-                    if (params.size() > 2) spliced.addAll(start, params.subList(2, params.size()));
-                    return spliced.toArray();
+                    if (start < 0 || start > array.length || deleteCount < 0) {
+                        return except("Splice out of bounds: start " + start + ", delete count " + deleteCount + ", length " + array.length, raw.getLine());
+                    }
+                    final int end = Math.min(start + deleteCount, array.length);
+                    final int inserted = Math.max(0, params.size() - 2);
+
+                    final Object[] spliced = new Object[array.length - (end - start) + inserted];
+                    System.arraycopy(array, 0, spliced, 0, start);
+                    for (int i = 0; i < inserted; i++) spliced[start + i] = params.get(2 + i);
+                    System.arraycopy(array, end, spliced, start + inserted, array.length - end);
+                    return spliced;
                 }
             }
             default:
@@ -1068,6 +933,105 @@ public final class Interpreter {
         }
     }
 
+    /**
+     * Same functions as {@link #handleArrayFunctionCall(ASTNode, Context, Object[])}, but values of another type than
+     * the array are rejected instead of stored.
+     */
+    private Object handlePrimitiveArrayFunctionCall(final ASTNode raw, final Context context, final PrimitiveArray array) {
+        final String fn;
+        final List<Object> params;
+
+        if (raw instanceof ObjectFunctionCallNode) {
+            ObjectFunctionCallNode node = (ObjectFunctionCallNode) raw;
+            fn = node.getCalled();
+            params = getFunctionParameters(node, context, -1);
+        } else if (raw instanceof MemberFunctionCallNode) {
+            MemberFunctionCallNode node = (MemberFunctionCallNode) raw;
+            fn = node.getName();
+            params = getFunctionParameters(node, context, -1);
+        } else {
+            return VOID_OBJECT;
+        }
+
+        Register.register(ARRAYCALL, fn, params, raw.getLine(), context);
+
+        switch (fn) {
+            case "at": {
+                if (params.size() == 1 && params.get(0) instanceof Long) {
+                    try {
+                        return array.get(((Long) params.get(0)).intValue());
+                    } catch (ArrayIndexOutOfBoundsException ex) {
+                        return except("Array out of bounds: " + params.get(0), raw.getLine());
+                    }
+                }
+                break;
+            }
+            case "size": {
+                if (params.isEmpty()) {
+                    return (long) array.length();
+                }
+                break;
+            }
+            case "set": {
+                if (params.size() == 2 && params.get(0) instanceof Long) {
+                    try {
+                        if (!array.set(((Long) params.get(0)).intValue(), params.get(1))) {
+                            return except("Expected " + array.getTypeName() + " in " + array.getTypeName() + " array, got " + getAsCLRStr(params.get(1)), raw.getLine());
+                        }
+                    } catch (ArrayIndexOutOfBoundsException e) {
+                        return except("Array index out of bounds: " + params.get(0), raw.getLine());
+                    }
+                    return VOID_OBJECT;
+                }
+                break;
+            }
+            case "setSize": {
+                if (params.size() == 1 && params.get(0) instanceof Long) {
+                    final int newSize = ((Long) params.get(0)).intValue();
+                    if (newSize < 0) {
+                        return except("Negative array size: " + newSize, raw.getLine());
+                    }
+                    return array.resize(newSize);
+                }
+                break;
+            }
+            case "push": {
+                final PrimitiveArray pushed = array.resize(array.length() + params.size());
+                for (int i = 0; i < params.size(); i++) {
+                    if (!pushed.set(array.length() + i, params.get(i))) {
+                        return except("Expected " + array.getTypeName() + " in " + array.getTypeName() + " array, got " + getAsCLRStr(params.get(i)), raw.getLine());
+                    }
+                }
+                return pushed;
+            }
+            case "splice": {
+                if (params.size() >= 2 && params.get(0) instanceof Long && params.get(1) instanceof Long) {
+                    final int start = ((Long) params.get(0)).intValue();
+                    final int deleteCount = ((Long) params.get(1)).intValue();
+                    if (start < 0 || start > array.length() || deleteCount < 0) {
+                        return except("Splice out of bounds: start " + start + ", delete count " + deleteCount + ", length " + array.length(), raw.getLine());
+                    }
+                    final int end = Math.min(start + deleteCount, array.length());
+                    final int inserted = Math.max(0, params.size() - 2);
+
+                    final PrimitiveArray spliced = PrimitiveArray.of(array.getTypeName(), array.length() - (end - start) + inserted);
+                    array.copy(0, spliced, 0, start);
+                    for (int i = 0; i < inserted; i++) {
+                        if (!spliced.set(start + i, params.get(2 + i))) {
+                            return except("Expected " + array.getTypeName() + " in " + array.getTypeName() + " array, got " + getAsCLRStr(params.get(2 + i)), raw.getLine());
+                        }
+                    }
+                    array.copy(end, spliced, start + inserted, array.length() - end);
+                    return spliced;
+                }
+                break;
+            }
+        }
+
+        // cases break out here when their params don't match, none falls into the next one
+        return except("Illegal function in " + array.getTypeName() + " array context: " + fn + " with params " + getParams(params), raw.getLine());
+    }
+
     private Object handleStringFunctionCall(final ASTNode raw, final Context context, final String caller) {
         String fn;
         List<Object> params;
@@ -1076,12 +1040,12 @@ public final class Interpreter {
             ObjectFunctionCallNode node = (ObjectFunctionCallNode) raw;
             fn = node.getCalled();
             params = getFunctionParameters(node, context, -1);
-            Register.register(STRINGCALL, fn + getParams(params), node.getLine(), context.getCurrentClassName());
+            Register.register(STRINGCALL, fn, params, node.getLine(), context);
         } else if (raw instanceof MemberFunctionCallNode) {
             MemberFunctionCallNode node = (MemberFunctionCallNode) raw;
             fn = node.getName();
             params = getFunctionParameters(node, context, -1);
-            Register.register(STRINGCALL, fn + getParams(params), node.getLine(), context.getCurrentClassName());
+            Register.register(STRINGCALL, fn, params, node.getLine(), context);
         } else {
             return VOID_OBJECT;
         }
@@ -1125,7 +1089,7 @@ public final class Interpreter {
                 break;
             case "length":
                 if (params.isEmpty()) {
-                    return (long) caller.length();
+                    return box((long) caller.length());
                 }
                 break;
             case "lower":
@@ -1169,14 +1133,14 @@ public final class Interpreter {
             return VOID_OBJECT;
         }
 
-        Register.register(LAMBDACALL, fn + getParams(params), raw.getLine(), context.getCurrentClassName());
+        Register.register(LAMBDACALL, fn, params, raw.getLine(), context);
 
         if (!fn.equals("run")) {
             Register.throwException("Illegal function in lambda context: " + fn + " with params " + getParams(params), raw.getLine());
             return VOID_OBJECT;
         }
 
-        final Context lambdaContext = new Context(context);
+        final Context lambdaContext = new Context(context, caller.getBlock().getFrame());
 
         if (params.size() != caller.getParams().size()) {
             except("Expected " + caller.getParams().size() + " params but found " + params.size(), raw.getLine());
@@ -1204,26 +1168,24 @@ public final class Interpreter {
         context.setCurrentClassName(classObject.getName());
         context.setCurrentFunctionName(node.getCalled());
 
-        // Attempt to find the function in the current class's context
-        ObjectType rawDefinition = classObject.getContext().getFunction(node.getCalled(), node.getParams().size());
-
-        // Check for function in parent classes if it is not found in the current class
-        if (rawDefinition == VOID_OBJECT) {
-            rawDefinition = findFunctionInInheritedClasses(node, context, classObject);
-        }
+        // the method table holds the functions of the class and its parents, the context the ones defined at runtime
+        final ClassDefinition classDefinition = classObject.getDefinition();
+        final FunctionDefinition method = classDefinition != null ? classDefinition.getMethod(node.getCalled(), node.getParams().size()) : null;
+        final ObjectType rawDefinition = method != null ? method : classObject.getContext().getFunction(node.getCalled(), node.getParams().size());
 
         if (rawDefinition == VOID_OBJECT) {
             return except("Called a non-existent function: " + classObject.getName() + "#" + node.getCalled(), node.getLine());
         }
 
         FunctionDefinition definition = (FunctionDefinition) rawDefinition;
-        final Context functionContext = new Context(classObject.getContext());
+        final Context functionContext = new Context(classObject.getContext(), definition.getBlock().getFrame());
+        functionContext.setCurrentClassName(classObject.getName());
 
         final List<Object> params = getFunctionParameters(node, context, definition.getParams().size());
 
         defineFunctionParameters(functionContext, definition, params);
 
-        Register.register(NATIVECALL, node.getCalled() + getParams(definition.getParams()), node.getLine(), context.getCurrentClassName());
+        Register.register(NATIVECALL, node.getCalled(), definition.getParams(), node.getLine(), context);
 
         final Object result = interpretBlock(definition.getBlock(), functionContext);
         context.setCurrentClassName(ocn);
@@ -1231,33 +1193,6 @@ public final class Interpreter {
         return result;
     }
 
-    private ObjectType findFunctionInInheritedClasses(final ObjectFunctionCallNode node, final Context context, final ClassObject classObject) {
-        ClassDefinition classDefinition = (ClassDefinition) context.getClass(classObject.getName());
-
-        while (classDefinition != null && classDefinition.getInheritedClass() != null) {
-
-            classDefinition = classDefinition.getInheritedClass();
-
-            FunctionDefinition functionDefinition = null;
-
-            for (final ASTNode astNode : classDefinition.getBody()) {
-                if (astNode instanceof FunctionDeclarationNode) {
-                    final FunctionDeclarationNode declaration = (FunctionDeclarationNode) astNode;
-                    if (!declaration.getFunctionName().equals(node.getCalled()) && declaration.getParameterNodes().size() == node.getParams().size()) continue;
-                    functionDefinition = new FunctionDefinition(declaration);
-                    break;
-                }
-            }
-
-
-            if (functionDefinition != null) {
-                return functionDefinition;
-            }
-        }
-
-        return VOID_OBJECT;
-    }
-
     private List<Object> getFunctionParameters(final ObjectFunctionCallNode node, final Context context, int expectedSize) {
         final List<Object> params = new ArrayList<>();
         for (final ASTNode param : node.getParams()) {
@@ -1285,7 +1220,7 @@ public final class Interpreter {
         }
     }
 
-    private Object interpretLocalVariableReference(final LocalVariableReferenceNode node, final Context context) {
+    public Object interpretLocalVariableReference(final LocalVariableReferenceNode node, final Context context) {
         final Object ret = context.parentContext().getVariable(node.getName());
         if (ret == VOID_OBJECT) {
             return except("Referencing a non-created variable: " + node.getName(), node.getLine());
@@ -1293,7 +1228,7 @@ public final class Interpreter {
         return ret;
     }
 
-    private Object interpretLocalFunctionCall(final LocalFunctionCallNode node, final Context raw) {
+    public Object interpretLocalFunctionCall(final LocalFunctionCallNode node, final Context raw) {
         final Context context = raw.parentContext();
         final String functionName = node.getName();
 
@@ -1309,7 +1244,7 @@ public final class Interpreter {
             params.add(returned);
         }
 
-        final ObjectType type = context.getFunction(functionName, node.getParams().size());
+        final ObjectType type = node.getFunctionCache().lookup(context, functionName, node.getParams().size());
 
         if (type == VOID_OBJECT) {
             return except("Calling a local function that doesn't exist: " + functionName + getParams(params), node.getLine());
@@ -1323,7 +1258,7 @@ public final class Interpreter {
             return except("Passing less parameters than needed (" + params.size() + ", " + definition.getParams().size() + ") in fn: " + functionName, node.getLine());
         }
 
-        final Context functionContext = new Context(context);
+        final Context functionContext = new Context(context, definition.getBlock().getFrame());
 
         List<String> definitionParams = definition.getParams();
         for (int i = 0; i < definitionParams.size(); i++) {
@@ -1333,7 +1268,7 @@ public final class Interpreter {
             functionContext.defineVariable(name, new VariableDefinition(name, null, value, false, false, false));
         }
 
-        Register.register(LOCALCALL, node.getName() + getParams(params), node.getLine(), context.getCurrentClassName());
+        Register.register(LOCALCALL, node.getName(), params, node.getLine(), context);
 
 
         final Object result = interpretBlock(definition.getBlock(), functionContext);
@@ -1341,7 +1276,7 @@ public final class Interpreter {
         return result;
     }
 
-    private Object interpretObjectVariableReference(final ObjectVariableReferenceNode node, final Context context) {
+    public Object interpretObjectVariableReference(final ObjectVariableReferenceNode node, final Context context) {
         final Object callerObject = node.getCaller() instanceof VariableReferenceNode ?
                 context.getVariable(((VariableReferenceNode) node.getCaller()).getName()) :
                 interpretNode(node.getCaller(), context);
@@ -1396,10 +1331,11 @@ public final class Interpreter {
             }
         }
 
-        return calledVariable.getValue();
+        final Object value = calledVariable.getValue();
+        return value instanceof NativeField ? ((NativeField) value).read() : value;
     }
 
-    private Object interpretObjectVariableReassignment(final ObjectVariableReassignmentNode node, final Context context) {
+    public Object interpretObjectVariableReassignment(final ObjectVariableReassignmentNode node, final Context context) {
         final Object callerObjectRaw;
 
         if (node.getCaller() instanceof VariableReferenceNode) {
@@ -1449,24 +1385,34 @@ public final class Interpreter {
     private void interpretInclude(final IncludeNode node, final Context context) {
         if (node.isNative()) context.getNatives().add(node.getName());
 
-        for (final ASTNode astnode : node.getBlock()) {
-            if (preInterpret(astnode, node.getBlock(), context)) {
-                node.getBlock().getChildren().remove(astnode);
-                continue;
-            }
+        final BlockNode block = node.getBlock();
+        final List<ASTNode> kept = new ArrayList<>(block.size());
+
+        for (int i = 0; i < block.size(); i++) {
+            final ASTNode astnode = preInterpret(block.get(i), context);
+            if (astnode == null) continue;
+            kept.add(astnode);
+
             final Object result = interpretNode(astnode, context);
 
             if (result instanceof ReturnValue) {
-                return;
+                for (i++; i < block.size(); i++) kept.add(block.get(i));
+                break;
             }
         }
+
+        if (kept.size() != block.size()) {
+            final BlockNode remaining = new BlockNode(kept);
+            remaining.setFrame(block.getFrame());
+            node.setBlock(remaining);
+        }
     }
 
-    private Object interpretPackagedNativeFunctionCall(final PackagedNativeFunctionCallNode node, final Context context) {
+    public Object interpretPackagedNativeFunctionCall(final PackagedNativeFunctionCallNode node, final Context context) {
         final List<Object> params = new ArrayList<>();
         for (final ASTNode param : node.getParams()) params.add(interpretNode(param, context));
 
-        Register.register(NATIVECALL,  node.getName() + getParams(params), node.getLine(), context.getCurrentClassName());
+        Register.register(NATIVECALL, node.getName(), params, node.getLine(), context);
 
 
         final ObjectType rawCurrent =  context.getClass(context.getCurrentClassName());
@@ -1486,7 +1432,9 @@ public final class Interpreter {
         return nmh.callPackaged(node.getPackage(), node.getName(), context.getCurrentClassName(), params);
     }
 
-    private Object interpretArray(final ArrayNode node, final Context context) {
+    public Object interpretArray(final ArrayNode node, final Context context) {
+        if (node.getNodes().isEmpty()) return EMPTY_ARRAY;
+
         final Object[] objects = new Object[node.getNodes().size()];
 
         List<ASTNode> nodes = node.getNodes();
@@ -1518,14 +1466,14 @@ public final class Interpreter {
         }
         if (o instanceof Long || o instanceof Integer) return "int";
         else if (o instanceof Double) return "float";
-        else if (o instanceof Object[]) return "arr";
+        else if (o instanceof Object[] || o instanceof PrimitiveArray) return "arr";
         else if (o instanceof String) return "str";
         else if (o instanceof VoidObject) return "void";
         else if (o instanceof LambdaObject) return "lambda";
         else return o.getClass().getSimpleName().toLowerCase();
     }
 
-    private Object interpretIf(final IfNode node, final Context context) {
+    public Object interpretIf(final IfNode node, final Context context) {
         final ASTNode expr = node.getCondition();
         final boolean condition = checkCondition(expr, context);
 
@@ -1577,10 +1525,10 @@ public final class Interpreter {
         return condition;
     }
 
-    private Object interpretFor(final ForNode node, final Context raw) {
+    public Object interpretFor(final ForNode node, final Context raw) {
 
-        final Context FOR_CONTEXT = new Context(raw);
-        Context BLOCK_CONTEXT = new Context(FOR_CONTEXT);
+        final Context FOR_CONTEXT = new Context(raw, node.getFrame());
+        Context BLOCK_CONTEXT = new Context(FOR_CONTEXT, node.getBlock().getFrame());
 
         if (node.getDeclaration() != null && interpretNode(node.getDeclaration(), FOR_CONTEXT) != VOID_OBJECT)
             return except("for declaration must be void return", node.getLine());
@@ -1603,14 +1551,14 @@ public final class Interpreter {
 
             interpretNode(node.getIncrementation(), BLOCK_CONTEXT);
 
-            BLOCK_CONTEXT = new Context(FOR_CONTEXT);
+            BLOCK_CONTEXT = BLOCK_CONTEXT.recycle();
         }
 
         return VOID_OBJECT;
     }
 
-    private Object interpretWhile(final WhileNode node, final Context context) {
-        Context whileContext = new Context(context);
+    public Object interpretWhile(final WhileNode node, final Context context) {
+        Context whileContext = new Context(context, node.getBlock().getFrame());
 
         final ASTNode condition = node.getCondition();
 
@@ -1626,15 +1574,15 @@ public final class Interpreter {
             if (val != VOID_OBJECT) {
                 return new ReturnValue(val);
             }
-            whileContext = new Context(context);
+            whileContext = whileContext.recycle();
         }
 
         return VOID_OBJECT;
     }
 
-    private Object interpretForeach(final ForeachNode node, final Context context) {
+    public Object interpretForeach(final ForeachNode node, final Context context) {
 
-        Context forEachContext = new Context(context);
+        Context forEachContext = new Context(context, node.getBlock().getFrame());
 
         final Object object = interpretNode(node.getList(), context);
 
@@ -1649,12 +1597,16 @@ public final class Interpreter {
 
         if (object instanceof Object[]) {
             arr = (Object[]) object;
+        } else if (object instanceof PrimitiveArray) {
+            arr = ((PrimitiveArray) object).toObjectArray();
         } else if (object instanceof Long) {
             final long range = (long) object;
             long i = 0;
+            VariableDefinition variable = new VariableDefinition(node.getVariable(), null, box(i), false, false, false);
 
             while (i < range) {
-                forEachContext.defineVariable(node.getVariable(), new VariableDefinition(node.getVariable(), null, i, false, false, false));
+                variable.setValue(box(i));
+                forEachContext.defineVariable(node.getVariable(), variable);
                 final Object val = interpretBlock(node.getBlock(), forEachContext);
                 if (val == BREAK) {
                     break;
@@ -1665,7 +1617,11 @@ public final class Interpreter {
                 }
                 i++;
 
-                forEachContext = new Context(context);
+                final Context next = forEachContext.recycle();
+                if (next != forEachContext) {
+                    forEachContext = next;
+                    variable = new VariableDefinition(node.getVariable(), null, box(i), false, false, false);
+                }
             }
 
             return VOID_OBJECT;
@@ -1685,7 +1641,7 @@ public final class Interpreter {
                     return new ReturnValue(val);
                 }
                 i++;
-                forEachContext = new Context(context);
+                forEachContext = forEachContext.recycle();
 
             }
 
@@ -1694,7 +1650,8 @@ public final class Interpreter {
             return except("Expected list, array, or integer in foreach, but got " + object.getClass().getSimpleName(), node.getLine());
         }
 
-        forEachContext.defineVariable(node.getVariable(), new VariableDefinition(node.getVariable(), null, null, false, false, false));
+        VariableDefinition variable = new VariableDefinition(node.getVariable(), null, null, false, false, false);
+        forEachContext.defineVariable(node.getVariable(), variable);
 
         for (final Object o : arr) {
             forEachContext.setVariable(node.getVariable(), o);
@@ -1708,16 +1665,20 @@ public final class Interpreter {
             if (val != VOID_OBJECT) {
                 return new ReturnValue(val);
             }
-            forEachContext = new Context(context);
-            forEachContext.defineVariable(node.getVariable(), new VariableDefinition(node.getVariable(), null, null, false, false, false));
+            final Context next = forEachContext.recycle();
+            if (next != forEachContext) {
+                forEachContext = next;
+                variable = new VariableDefinition(node.getVariable(), null, null, false, false, false);
+            } else {
+                variable.setValue(null);
+            }
+            forEachContext.defineVariable(node.getVariable(), variable);
         }
 
         return VOID_OBJECT;
     }
 
-    private Object interpretReflectedNativeFunctionDeclaration(final ReflectedNativeFunctionDeclaration node, final Context context) {
-        final BlockNode block = new BlockNode();
-
+    public Object interpretReflectedNativeFunctionDeclaration(final ReflectedNativeFunctionDeclaration node, final Context context) {
         final List<ASTNode> nodes = new ArrayList<>();
 
         for (final ParameterNode parameterNode : node.getParams())
@@ -1731,7 +1692,7 @@ public final class Interpreter {
                 nodes
         ).setLine(node.getLine());
 
-        block.addChild(astnode);
+        final BlockNode block = new BlockNode(astnode);
 
         final List<String> params = new ArrayList<>();
 
@@ -1759,7 +1720,7 @@ public final class Interpreter {
         return VOID_OBJECT;
     }
 
-    private Object interpretNativeClassDeclaration(final NativeClassDeclarationNode node, final Context context) {
+    public Object interpretNativeClassDeclaration(final NativeClassDeclarationNode node, final Context context) {
         final String name = node.getName();
         final String ocn = context.getCurrentClassName();
 
@@ -1790,14 +1751,11 @@ public final class Interpreter {
                 }
             } else if (statement instanceof FunctionDeclarationNode) {
                 FunctionDeclarationNode declarationNode = (FunctionDeclarationNode) statement;
-                final List<String> params = new ArrayList<>();
-
-                declarationNode.getParameterNodes().forEach(param -> params.add(param.getName()));
-
                 if (declarationNode.isStatic()) {
-                    definition.staticFunctions.add(new FunctionDefinition(declarationNode.getFunctionName(), declarationNode.getTypeDefault(), true, declarationNode.isConst(), declarationNode.isLocal(), declarationNode.isAsync(), params, declarationNode.getBlock()));
+                    definition.staticFunctions.add(new FunctionDefinition(declarationNode));
                 }
-            } else if (statement instanceof ReflectedNativeFunctionDeclaration) {
+            } else if (statement instanceof ReflectedNativeFunctionDeclaration && ((ReflectedNativeFunctionDeclaration) statement).isStatic()) {
+                // instance functions are defined in each object, when the body is interpreted
                 final Object o = interpretReflectedNativeFunctionDeclaration((ReflectedNativeFunctionDeclaration) statement, context);
                 if (o instanceof FunctionDefinition) {
                     FunctionDefinition def = (FunctionDefinition) o;
@@ -1811,7 +1769,7 @@ public final class Interpreter {
         return VOID_OBJECT;
     }
 
-    private Object interpretLocalVariableReassignment(final LocalVariableReassignmentNode node, final Context context) {
+    public Object interpretLocalVariableReassignment(final LocalVariableReassignmentNode node, final Context context) {
         final Context localContext = context.parentContext();
         final Object result = interpretNode(node.getValue(), context);
         if (result instanceof VoidObject) return except("Reassigning variable with void value: " + node.getName(), node.getLine());
@@ -1819,14 +1777,18 @@ public final class Interpreter {
         return VOID_OBJECT;
     }
 
-    private Object interpretSelect(final SelectNode node, final Context context) {
+    public Object interpretSelect(final SelectNode node, final Context context) {
 
         final Object value = interpretNode(node.getCondition(), context);
         if (value == VOID_OBJECT) return except("Void condition in switch expression", node.getLine());
 
-        boolean match = false;
-        List<SelectNode.WhenNode> cases = node.getCases();
-        for (final SelectNode.WhenNode whenCase : cases) {
+        final List<SelectNode.WhenNode> cases = node.getCases();
+
+        // constant cases jump straight to the first match, from there on every case falls through
+        final int first = node.findCase(value);
+        boolean match = first >= 0;
+        for (int i = match ? first : 0; i < cases.size(); i++) {
+            final SelectNode.WhenNode whenCase = cases.get(i);
             if (match || Objects.equals(value, interpretNode(whenCase.getWhenExpression(), context))) {
                 final Object ret = interpretBlock(whenCase.getBlock(), context);
                 match = true;
@@ -1845,7 +1807,7 @@ public final class Interpreter {
         return interpretBlock(node.getBlock(), context);
     }
 
-    private Object interpretNativeCast(final NativeCastNode node, final Context context) {
+    public Object interpretNativeCast(final NativeCastNode node, final Context context) {
         final Object expression = interpretNode(node.getCasted(), context);
 
         if (expression == null) {
@@ -1882,6 +1844,9 @@ public final class Interpreter {
         if (expr instanceof Object[]) {
             return Arrays.toString((Object[]) expr);
         }
+        if (expr instanceof PrimitiveArray) {
+            return expr.toString();
+        }
 
         except("Could not cast to string", node.getLine());
         return "";
@@ -1907,7 +1872,7 @@ public final class Interpreter {
             return parseIntegerOrThrow((String) expression, node);
         }
         if (expression instanceof Double) {
-            return ((Double) expression).longValue();
+            return box(((Double) expression).longValue());
         }
         if (expression instanceof Long) {
             return (Long) expression;
@@ -1918,11 +1883,14 @@ public final class Interpreter {
     }
 
     private Object[] castToArr(final Object expression, final NativeCastNode node) {
+        if (expression instanceof PrimitiveArray) {
+            return ((PrimitiveArray) expression).toObjectArray();
+        }
         try {
             return (Object[]) expression;
         } catch (final ClassCastException ignore) {
             except("Could not cast to arr", node.getLine());
-            return new Object[0];
+            return EMPTY_ARRAY;
         }
     }
 
@@ -1962,7 +1930,7 @@ public final class Interpreter {
 
     private Long parseIntegerOrThrow(final String expression, final NativeCastNode node) {
         try {
-            return Tokenizer.processNumber(expression).longValue();
+            return box(Tokenizer.processNumber(expression).longValue());
         } catch (final NumberFormatException e) {
             if (expression.contains(".")) {
                 try {
@@ -1976,7 +1944,7 @@ public final class Interpreter {
         }
     }
 
-    private Object interpretConditionedReturn(final ConditionedReturnNode node, final Context context) {
+    public Object interpretConditionedReturn(final ConditionedReturnNode node, final Context context) {
         final ASTNode condo = node.getCondition();
 
         final Object result = interpretNode(condo, context);
@@ -2001,7 +1969,7 @@ public final class Interpreter {
 
     }
 
-    private Object interpretMemberFunctionCall(final MemberFunctionCallNode node, final Context context) {
+    public Object interpretMemberFunctionCall(final MemberFunctionCallNode node, final Context context) {
         final Object caller = node.getCaller() instanceof VariableReferenceNode ?
                 context.getVariable(((VariableReferenceNode) node.getCaller()).getName()) :
                 interpretNode(node.getCaller(), context);
@@ -2057,12 +2025,12 @@ public final class Interpreter {
                 return except("Static function not found: " + classDefinition.getName() + "#" + node.getName(), node.getLine());
             }
 
-            final Context functionContext = new Context(context);
+            final Context functionContext = new Context(context, definition.getBlock().getFrame());
             final List<Object> params = getFunctionParameters(node, context, definition.getParams().size());
 
             defineFunctionParameters(functionContext, definition, params);
 
-            Register.register(NATIVECALL, node.getName() + getParams(definition.getParams()), node.getLine(), context.getCurrentClassName());
+            Register.register(NATIVECALL, node.getName(), definition.getParams(), node.getLine(), context);
 
             final String preName = context.getCurrentClassName();
             final String ocn = context.getCurrentClassName();
@@ -2096,6 +2064,16 @@ public final class Interpreter {
                 return VOID_OBJECT;
             }
             return resultArray;
+        } else if (caller instanceof PrimitiveArray) {
+            final Object result = handlePrimitiveArrayFunctionCall(node, context, (PrimitiveArray) caller);
+            if (result instanceof PrimitiveArray && result != caller) {
+                if (!(node.getCaller() instanceof VariableReferenceNode)) {
+                    return except("Expected variable reference", node.getLine());
+                }
+                context.setVariable(((VariableReferenceNode) node.getCaller()).getName(), result);
+                return VOID_OBJECT;
+            }
+            return result;
         } else if (caller instanceof String) {
             return handleStringFunctionCall(node, context, (String) caller);
         } else if (caller instanceof LambdaObject) {
@@ -2110,7 +2088,9 @@ public final class Interpreter {
 
         final String objectName = object.getName();
 
-        final ObjectType rawDefinition = object.getContext().getFunction(node.getName(), node.getParams().size());
+        final ClassDefinition classDefinition = object.getDefinition();
+        final FunctionDefinition method = classDefinition != null ? classDefinition.getMethod(node.getName(), node.getParams().size()) : null;
+        final ObjectType rawDefinition = method != null ? method : node.getFunctionCache().lookup(object.getContext(), node.getName(), node.getParams().size());
 
         if (!(rawDefinition instanceof FunctionDefinition)) {
             return except("Instance function not found: " + objectName + "#" + node.getName() + getParams(getFunctionParameters(node, context, node.getParams().size())), node.getLine());
@@ -2122,12 +2102,13 @@ public final class Interpreter {
             return except("Accessing a local function: " + definition.getName(), node.getLine());
         }
 
-        final Context functionContext = new Context(object.getContext());
+        final Context functionContext = new Context(object.getContext(), definition.getBlock().getFrame());
+        functionContext.setCurrentClassName(objectName);
         final List<Object> params = getFunctionParameters(node, context, definition.getParams().size());
 
         defineFunctionParameters(functionContext, definition, params);
 
-        Register.register(FUNCALL, node.getName() + getParams(definition.getParams()), node.getLine(), context.getCurrentClassName());
+        Register.register(FUNCALL, node.getName(), definition.getParams(), node.getLine(), context);
         final String ocn = context.getCurrentClassName();
 
         context.setCurrentClassName(objectName);
@@ -2177,7 +2158,7 @@ public final class Interpreter {
         return params;
     }
 
-    private Object interpretAssert(final AssertNode node, final Context context) {
+    public Object interpretAssert(final AssertNode node, final Context context) {
         final Object result = interpretNode(node.getCondition(), context);
         final boolean apply;
         if (result instanceof Long) {
@@ -2206,11 +2187,11 @@ public final class Interpreter {
         return VOID_OBJECT;
     }
 
-    private boolean interpretIs(final IsNode node, final Context context) {
+    public boolean interpretIs(final IsNode node, final Context context) {
         return node.getType().is(interpretNode(node.getExpression(), context));
     }
 
-    private Object interpretEnumDeclaration(final EnumDeclarationNode node, final Context context) {
+    public Object interpretEnumDeclaration(final EnumDeclarationNode node, final Context context) {
         final String name = node.getName();
 
         final List<EnumClassDefinition.EnumValue> enumValues = new ArrayList<>();
@@ -2227,13 +2208,13 @@ public final class Interpreter {
         return VOID_OBJECT;
     }
 
-    private Object interpretAnnotationDeclaration(final AnnotationDeclarationNode node, final Context context) {
+    public Object interpretAnnotationDeclaration(final AnnotationDeclarationNode node, final Context context) {
         final AnnotationDefinition definition = new AnnotationDefinition(node.getName(), node.getAnnotationElements());
         context.defineAnnotation(definition.getName(), definition);
         return VOID_OBJECT;
     }
 
-    private Object interpretAnnotationUse(final AnnotationUseNode node, final Context context) {
+    public Object interpretAnnotationUse(final AnnotationUseNode node, final Context context) {
         /*
         Some day I'll implement this
         context.addCurrentAnnotationName(node.getName());
@@ -2260,7 +2241,7 @@ public final class Interpreter {
         return VOID_OBJECT;
     }
 
-    private Object interpretAsyncBlock(final AsyncBlockNode node, final Context context) {
+    public Object interpretAsyncBlock(final AsyncBlockNode node, final Context context) {
         final Object rawName = interpretNode(node.getName(), context);
 
         if (rawName instanceof VoidObject) {
@@ -2268,11 +2249,12 @@ public final class Interpreter {
         } else if (!(rawName instanceof String)) {
             return except("Unexpected async thread name (" + rawName + "), expected string", node.getLine());
         }
-        new Thread(() -> interpretBlock(node.getBlock(), context), rawName.toString()).start();
+        context.retain();
+        AsyncScheduler.getInstance().execute(rawName.toString(), () -> interpretBlock(node.getBlock(), context));
         return VOID_OBJECT;
     }
 
-    private Object interpretRaise(final RaiseNode node, final Context context) {
+    public Object interpretRaise(final RaiseNode node, final Context context) {
         final Object result = interpretNode(node.getException(), context);
 
         if (!(result instanceof String)) {
@@ -2282,20 +2264,20 @@ public final class Interpreter {
         }
     }
 
-    private Object interpretTryExcept(final TryExceptBlock node, final Context context) {
-        final Context tryContext = new Context(context);
-
+    public Object interpretTryExcept(final TryExceptBlock node, final Context context) {
         final BlockNode tryBlock = node.getTryBlock();
         if (tryBlock == null || tryBlock.isEmpty()) {
             return VOID_OBJECT;
         }
 
-        for (final ASTNode anode : tryBlock) {
-            final Object result = interpretNode(anode, tryContext);
+        final Context tryContext = new Context(context, tryBlock.getFrame());
+
+        for (int i = 0, n = tryBlock.size(); i < n; i++) {
+            final Object result = interpretNode(tryBlock.get(i), tryContext);
 
             if (exemptionHandler.changeIfGet()) {
                 final BlockNode exceptBlock = node.getExceptBlock();
-                final Context exceptContext = new Context(context);
+                final Context exceptContext = new Context(context, exceptBlock != null ? exceptBlock.getFrame() : null);
                 exceptContext.defineVariable(node.getExcepted(), new VariableDefinition(node.getExcepted(), "str", exemptionHandler.exemptMessage(), false, false, false));
                 interpretBlock(exceptBlock, exceptContext);
                 break;
@@ -2312,14 +2294,15 @@ public final class Interpreter {
         return VOID_OBJECT;
     }
 
-    private Object interpretStaticBlock(final StaticBlockNode node, final Context context) {
-        Register.register(STATICINIT, "<static-block>", node.getLine(), context.getCurrentClassName());
+    public Object interpretStaticBlock(final StaticBlockNode node, final Context context) {
+        if (Register.isEnabled()) Register.register(STATICINIT, "<static-block>", node.getLine(), context.getCurrentClassName());
         if (node.isAsync()) {
-            new Thread(() -> {
+            context.retain();
+            AsyncScheduler.getInstance().execute("<static-block>", () -> {
                 if (!(interpretBlock(node.getBlock(), context) instanceof VoidObject)) {
                     except("Return in static async block", node.getLine());
                 }
-            }, "<static-block>").start();
+            });
         } else {
             if (!(interpretBlock(node.getBlock(), context) instanceof VoidObject)) {
                 except("Return in static block", node.getLine());
@@ -2329,22 +2312,23 @@ public final class Interpreter {
         return VOID_OBJECT;
     }
 
-    private Object interpretTernaryOperator(final TernaryOperatorNode node, final Context context) {
+    public Object interpretTernaryOperator(final TernaryOperatorNode node, final Context context) {
         // ternary for ternary, ironic, isn't it?
         return checkCondition(node.getCondition(), context) ? interpretNode(node.getTrueBranch(), context) : interpretNode(node.getFalseBranch(), context);
     }
 
-    private Object interpretLambdaBlock(final LambdaBlockNode node, final Context context) {
+    public Object interpretLambdaBlock(final LambdaBlockNode node, final Context context) {
+        context.retain();
         return new LambdaObject(node.getParams(), node.getBlock(), context);
     }
 
-    private Object interpretDeleteVariable(final DeleteVariableNode node, final Context context) {
-        Register.register(VARDEL, node.getName(), node.getLine(), context.getCurrentClassName());
+    public Object interpretDeleteVariable(final DeleteVariableNode node, final Context context) {
+        if (Register.isEnabled()) Register.register(VARDEL, node.getName(), node.getLine(), context.getCurrentClassName());
         context.deleteVariable(node.getName());
         return VOID_OBJECT;
     }
 
-    private Object interpretDeleteFunction(final DeleteFunctionNode node, final Context context) {
+    public Object interpretDeleteFunction(final DeleteFunctionNode node, final Context context) {
         final Object params = interpretNode(node.getParams(), context);
 
         if (!(params instanceof Number)) {
@@ -2354,16 +2338,16 @@ public final class Interpreter {
             return except("Parameter is not a num, instead it is " + params.getClass().getSimpleName(), node.getLine());
         }
 
-        Register.register(FUNDEL, node.getName() + "(" + params + ")", node.getLine(), context.getCurrentClassName());
+        if (Register.isEnabled()) Register.register(FUNDEL, node.getName() + "(" + params + ")", node.getLine(), context.getCurrentClassName());
 
         context.deleteFunction(node.getName(), ((Number) params).intValue());
         return VOID_OBJECT;
     }
 
-    private Object interpretAwaitBlock(final AwaitBlockNode node, final Context context) {
-        final CompletableFuture<Object> future = CompletableFuture.supplyAsync(
-                () -> interpretBlock(node.getBlock(), context),
-                ASYNC_POOL
+    public Object interpretAwaitBlock(final AwaitBlockNode node, final Context context) {
+        final CompletableFuture<Object> future = AsyncScheduler.getInstance().supply(
+                "<await-block>",
+                () -> interpretBlock(node.getBlock(), context)
         );
         try {
             return future.get();
@@ -2372,7 +2356,7 @@ public final class Interpreter {
         }
     }
 
-    private Object interpretAwaitFunctionCall(final AwaitFunctionCallNode node, final Context context) {
+    public Object interpretAwaitFunctionCall(final AwaitFunctionCallNode node, final Context context) {
         final FunctionCallNode call = node.getFunctionCallNode();
 
         final String functionName = ((VariableReferenceNode) call.getCaller()).getName();
@@ -2404,7 +2388,7 @@ public final class Interpreter {
             return except("Incorrect parameter count (" + paramSize + " vs " + expectedSize + ") in fn: " + functionName, call.getLine());
         }
 
-        final Context functionContext = new Context(context.parentContext());
+        final Context functionContext = new Context(context.parentContext(), definition.getBlock().getFrame());
         final List<String> definitionParams = definition.getParams();
         for (int i = 0; i < definitionParams.size(); i++) {
             final String name = definitionParams.get(i);
@@ -2412,14 +2396,14 @@ public final class Interpreter {
             functionContext.defineVariable(name, new VariableDefinition(name, null, value, false, false, false));
         }
 
-        Register.register(FUNCALL, functionName + getParams(params), call.getLine(), context.getCurrentClassName());
+        Register.register(FUNCALL, functionName, params, call.getLine(), context);
 
         final Object result;
 
         if (definition.isAsync()) {
-            final CompletableFuture<Object> future = CompletableFuture.supplyAsync(
-                    () -> interpretBlock(definition.getBlock(), functionContext),
-                    ASYNC_POOL
+            final CompletableFuture<Object> future = AsyncScheduler.getInstance().supply(
+                    "async:" + functionName,
+                    () -> interpretBlock(definition.getBlock(), functionContext)
             );
 
             try {
@@ -2442,7 +2426,7 @@ public final class Interpreter {
         return result;
     }
 
-    private Object interpretNativeFunction(final NativeFunctionNode node, final Context context) {
+    public Object interpretNativeFunction(final NativeFunctionNode node, final Context context) {
         final List<Object> params = new ArrayList<>(node.getParams().size());
         for (final ASTNode param : node.getParams()) {
             final Object added = interpretNode(param, context);
@@ -2454,7 +2438,7 @@ public final class Interpreter {
 
         final ClarityNativeFunction<?> fun = node.getFunction();
 
-        Register.register(NATIVECALL, fun.getName() + getParams(params), node.getLine(), context.getCurrentClassName());
+        Register.register(NATIVECALL, fun.getName(), params, node.getLine(), context);
 
         if (fun.applies(fun.getName(), params)) {
             return fun.call(params);
@@ -2465,7 +2449,7 @@ public final class Interpreter {
     }
 
     @StillTesting
-    private Object interpretVirtualClassDeclaration(final VirtualClassDeclarationNode node, final Context context) {
+    public Object interpretVirtualClassDeclaration(final VirtualClassDeclarationNode node, final Context context) {
         final String ocn = context.getCurrentClassName();
         final String name = node.getName();
         context.setCurrentClassName(name);
@@ -2546,12 +2530,8 @@ public final class Interpreter {
                 }
             } else if (statement instanceof FunctionDeclarationNode) {
                 final FunctionDeclarationNode declarationNode = (FunctionDeclarationNode) statement;
-                final List<String> params = new ArrayList<>();
-
-                declarationNode.getParameterNodes().forEach(param -> params.add(param.getName()));
-
                 if (declarationNode.isStatic()) {
-                    definition.staticFunctions.add(new FunctionDefinition(declarationNode.getFunctionName(), declarationNode.getTypeDefault(), true, declarationNode.isConst(), declarationNode.isLocal(), declarationNode.isAsync(), params, declarationNode.getBlock()));
+                    definition.staticFunctions.add(new FunctionDefinition(declarationNode));
                 }
             } else if (statement instanceof ReflectedNativeFunctionDeclaration) {
                 final Object o = interpretReflectedNativeFunctionDeclaration((ReflectedNativeFunctionDeclaration) statement, context);
@@ -1,64 +1,126 @@
 package me.kuwg.clarity.interpreter.context;
 
-import me.kuwg.clarity.ast.ASTNode;
-import me.kuwg.clarity.ast.nodes.function.declare.FunctionDeclarationNode;
 import me.kuwg.clarity.interpreter.Interpreter;
 import me.kuwg.clarity.interpreter.definition.AnnotationDefinition;
 import me.kuwg.clarity.interpreter.definition.ClassDefinition;
 import me.kuwg.clarity.interpreter.definition.FunctionDefinition;
+import me.kuwg.clarity.interpreter.definition.FunctionTable;
 import me.kuwg.clarity.interpreter.definition.VariableDefinition;
 import me.kuwg.clarity.library.objects.ObjectType;
 import me.kuwg.clarity.register.Register;
 import me.kuwg.clarity.util.StillTesting;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static me.kuwg.clarity.library.objects.VoidObject.VOID_OBJECT;
 
 public final class Context {
 
-    private final Map<String, ObjectType> variables = new HashMap<>();
-    private final Map<String, List<FunctionDefinition>> functions = new HashMap<>();
-    private final Map<String, ObjectType> classes = new HashMap<>();
-    private final Map<String, ObjectType> annotations = new HashMap<>();
-    private final Set<String> natives = new HashSet<>();
-    private final List<String> currentAnnotationNames = new ArrayList<>();
+    /*
+     * Bumped whenever functions change in a context that a FunctionCache entry resolved to, invalidating the entries.
+     */
+    private static final AtomicInteger FUNCTION_VERSION = new AtomicInteger();
+
+    private Map<String, ObjectType> variables;
+    private FunctionTable functions;
+    private Map<String, ObjectType> classes;
+    private Map<String, ObjectType> annotations;
+    private Set<String> natives;
+    private List<String> currentAnnotationNames;
+
+    /*
+     * Variables resolved by the ScopeResolver live in a fixed frame instead of the variables map:
+     * frameNames is the layout computed at parse time, frame holds the definitions by slot.
+     */
+    private String[] frameNames;
+    private VariableDefinition[] frame;
 
     private String currentClassName;
     private String currentFunctionName;
 
+    /*
+     * Set once something may outlive the statement that created this context (an object, a lambda or another thread),
+     * loops then allocate a fresh context for the next iteration instead of recycling this one.
+     */
+    private volatile boolean retained;
+    private volatile boolean functionOwner;
+
     private final Context parentContext;
 
-    public Context(final Context parentContext) {
+    public Context(final Context parentContext, final String[] frameNames) {
         this.parentContext = parentContext;
+        useFrame(frameNames);
+    }
+
+    public Context(final Context parentContext) {
+        this(parentContext, null);
     }
 
     public Context() {
         this(null);
     }
 
+    /**
+     * Gives this context the slot layout of the scope it runs, used for contexts that are not created per scope (the general one).
+     */
+    public void useFrame(final String[] frameNames) {
+        if (frameNames == null || frameNames.length == 0) {
+            this.frameNames = null;
+            this.frame = null;
+        } else {
+            this.frameNames = frameNames;
+            this.frame = new VariableDefinition[frameNames.length];
+        }
+    }
+
     public void defineVariable(final String name, final VariableDefinition value) {
         if (name.equals("_")) return;
+        final int slot = slotOf(name);
+        if (slot != -1) {
+            defineVariable(slot, value);
+            return;
+        }
+        if (variables == null) variables = new HashMap<>();
         if (variables.putIfAbsent(name, value) != null) {
             Register.throwException("Declaring an already declared variable: " + name);
         }
     }
 
+    public void defineVariable(final int slot, final VariableDefinition value) {
+        if (!hasSlot(slot, value.getName())) {
+            defineVariable(value.getName(), value);
+            return;
+        }
+        if (frame[slot] != null || (variables != null && variables.containsKey(value.getName()))) {
+            Register.throwException("Declaring an already declared variable: " + value.getName());
+        }
+        frame[slot] = value;
+    }
+
     public Object getVariable(final String name) {
         if (name.equals("_")) {
             Register.throwException("Getting a unnamed variable (_)");
             return VOID_OBJECT;
         }
-        final ObjectType result = variables.get(name);
-        if (result == null && parentContext != null) {
-            return parentContext.getVariable(name);
+        for (Context context = this; context != null; context = context.parentContext) {
+            final VariableDefinition result = context.findVariable(name);
+            if (result != null) return result.getValue();
         }
-        return result != null ? ((VariableDefinition) result).getValue() : VOID_OBJECT;
+        return VOID_OBJECT;
+    }
+
+    public Object getVariable(final int depth, final int slot, final String name) {
+        final VariableDefinition result = slotted(depth, slot, name);
+        return result != null ? result.getValue() : getVariable(name);
     }
 
     public ObjectType getVariableDefinition(final String name) {
-        final ObjectType result = variables.get(name);
-        return result != null ? result : (parentContext != null ? parentContext.getVariableDefinition(name) : VOID_OBJECT);
+        for (Context context = this; context != null; context = context.parentContext) {
+            final VariableDefinition result = context.findVariable(name);
+            if (result != null) return result;
+        }
+        return VOID_OBJECT;
     }
 
     public void setVariable(final String name, final Object value) {
@@ -67,7 +129,19 @@ public final class Context {
             Register.throwException("You cannot edit a variable that hasn't been created: " + name);
             return;
         }
-        final VariableDefinition variableDefinition = (VariableDefinition) definition;
+        assign((VariableDefinition) definition, name, value);
+    }
+
+    public void setVariable(final int depth, final int slot, final String name, final Object value) {
+        final VariableDefinition definition = slotted(depth, slot, name);
+        if (definition == null) {
+            setVariable(name, value);
+        } else {
+            assign(definition, name, value);
+        }
+    }
+
+    private static void assign(final VariableDefinition variableDefinition, final String name, final Object value) {
         if (Interpreter.checkTypes(variableDefinition.getTypeDefault(), value)) {
             Register.throwException("Unexpected value for variable " + variableDefinition.getName() + ", expected " + variableDefinition.getTypeDefault() + " but got " + Interpreter.getAsCLRStr(value));
         }
@@ -79,11 +153,44 @@ public final class Context {
     }
 
     public void deleteVariable(final String name) {
-        if (variables.remove(name) == null) {
+        final int slot = slotOf(name);
+        if (slot != -1 && frame[slot] != null) {
+            frame[slot] = null;
+        } else if (variables == null || variables.remove(name) == null) {
             Register.throwException("Attempted to delete non-existent variable: " + name);
         }
     }
 
+    private VariableDefinition findVariable(final String name) {
+        if (frame != null) {
+            final int slot = slotOf(name);
+            if (slot != -1 && frame[slot] != null) return frame[slot];
+        }
+        return variables != null ? (VariableDefinition) variables.get(name) : null;
+    }
+
+    private VariableDefinition slotted(final int depth, final int slot, final String name) {
+        if (slot < 0) return null;
+        Context context = this;
+        for (int i = 0; i < depth && context != null; i++) {
+            context = context.parentContext;
+        }
+        return context != null && context.hasSlot(slot, name) ? context.frame[slot] : null;
+    }
+
+    private boolean hasSlot(final int slot, final String name) {
+        return frame != null && slot >= 0 && slot < frame.length && frameNames[slot].equals(name);
+    }
+
+    private int slotOf(final String name) {
+        if (frameNames != null) {
+            for (int i = 0; i < frameNames.length; i++) {
+                if (frameNames[i].equals(name)) return i;
+            }
+        }
+        return -1;
+    }
+
     public void defineFunction(final String name, final FunctionDefinition definition) {
         final String currentClass = getCurrentClassName();
 
@@ -91,39 +198,27 @@ public final class Context {
             ClassDefinition classDefinition = (ClassDefinition) getClass(currentClass);
             while (classDefinition.getInheritedClass() != null) {
                 final ClassDefinition inherited = classDefinition.getInheritedClass();
-                for (ASTNode node : inherited.getBody()) {
-                    if (node instanceof FunctionDeclarationNode) {
-                        final FunctionDeclarationNode fdn = (FunctionDeclarationNode) node;
-                        if (fdn.getFunctionName().equals(name) &&
-                                fdn.getParameterNodes().size() == definition.getParams().size() && fdn.isConst()) {
-                            Register.throwException("Overriding const functions is not allowed", definition.getBlock().getLine());
-                            return;
-                        }
-                    }
+                if (inherited.getConstFunction(name, definition.getParams().size()) != null) {
+                    Register.throwException("Overriding const functions is not allowed", definition.getBlock().getLine());
+                    return;
                 }
                 classDefinition = inherited;
             }
         }
 
-        final List<FunctionDefinition> existingDefinitions = functions.computeIfAbsent(name, k -> new ArrayList<>());
-        if (existingDefinitions.stream().anyMatch(d -> d.getParams().size() == definition.getParams().size())) {
+        if (functions == null) functions = new FunctionTable();
+        if (!functions.add(name, definition)) {
             Register.throwException("Declaring an already declared function: " + name + " with the same number of parameters.");
             return;
         }
 
-        existingDefinitions.add(definition);
+        functionsChanged();
     }
 
     public ObjectType getFunction(final String name, final int paramsSize) {
         try {
-            final List<FunctionDefinition> definitions = functions.get(name);
-            if (definitions != null) {
-                for (final FunctionDefinition d : definitions) {
-                    if (paramsSize == d.getParams().size()) {
-                        return d;
-                    }
-                }
-            }
+            final FunctionDefinition definition = getOwnFunction(name, paramsSize);
+            if (definition != null) return definition;
             return parentContext != null ? parentContext.getFunction(name, paramsSize) : VOID_OBJECT;
         } catch (final VirtualMachineError ignore) {
             System.err.print("(Self Calling?) function error: " + name + " with " + paramsSize + " params.\n");
@@ -133,21 +228,59 @@ public final class Context {
 
     }
 
+    static int functionVersion() {
+        return FUNCTION_VERSION.get();
+    }
+
+    void markFunctionOwner() {
+        functionOwner = true;
+    }
+
+    private void functionsChanged() {
+        if (functionOwner) FUNCTION_VERSION.incrementAndGet();
+    }
+
+    /**
+     * Finds the closest context, starting from this one, that defines the function itself.
+     *
+     * @return The owning context, or null if no context in the chain defines it.
+     */
+    Context findFunctionOwner(final String name, final int paramsSize) {
+        for (Context context = this; context != null; context = context.parentContext) {
+            if (context.getOwnFunction(name, paramsSize) != null) return context;
+        }
+        return null;
+    }
+
+    FunctionDefinition getOwnFunction(final String name, final int paramsSize) {
+        return functions != null ? functions.get(name, paramsSize) : null;
+    }
+
+    /**
+     * Checks that the owner is in this context's chain and that no context before it defines functions.
+     */
+    boolean reachesFunctionOwner(final Context owner) {
+        Context context = this;
+        while (context != owner) {
+            if (context == null || (context.functions != null && !context.functions.isEmpty())) return false;
+            context = context.parentContext;
+        }
+        return true;
+    }
+
     public void deleteFunction(final String name, final int paramsSize) {
-        final List<FunctionDefinition> definitions = functions.get(name);
-        if (definitions != null) {
-            boolean removed = definitions.removeIf(d -> d.getParams().size() == paramsSize);
-            if (!removed) {
+        if (functions != null && functions.containsName(name)) {
+            if (!functions.remove(name, paramsSize)) {
                 Register.throwException("Attempted to delete non-existent function: " + name + " with " + paramsSize + " parameters.");
-            } else if (definitions.isEmpty()) {
-                functions.remove(name);
             }
+            functionsChanged();
         } else {
             Register.throwException("Attempted to delete non-existent function: " + name);
         }
     }
 
     public void defineClass(final String name, final ClassDefinition definition) {
+        if (classes == null) classes = new HashMap<>();
         if (classes.putIfAbsent(name, definition) != null) {
             Register.throwException("Declaring an already declared class: " + name);
         }
@@ -155,11 +288,12 @@ public final class Context {
 
     public ObjectType getClass(final String name) {
         if (name == null) return null;
-        final ObjectType result = classes.get(name);
+        final ObjectType result = classes != null ? classes.get(name) : null;
         return result != null ? result : (parentContext != null ? parentContext.getClass(name) : VOID_OBJECT);
     }
 
     public void defineAnnotation(final String name, final AnnotationDefinition definition) {
+        if (annotations == null) annotations = new HashMap<>();
         if (annotations.putIfAbsent(name, definition) != null) {
             Register.throwException("Declaring an already declared annotation: " + name);
         }
@@ -167,11 +301,12 @@ public final class Context {
 
     public ObjectType getAnnotation(final String name) {
         if (name == null) return null;
-        final ObjectType result = annotations.getOrDefault(name, VOID_OBJECT);
+        final ObjectType result = annotations != null ? annotations.getOrDefault(name, VOID_OBJECT) : VOID_OBJECT;
         return result != VOID_OBJECT ? result : (parentContext != null ? parentContext.getAnnotation(name) : VOID_OBJECT);
     }
 
     public Set<String> getNatives() {
+        if (natives == null) natives = new HashSet<>();
         return natives;
     }
 
@@ -194,15 +329,48 @@ public final class Context {
     }
 
     public List<String> getCurrentAnnotationNames() {
+        if (currentAnnotationNames == null) currentAnnotationNames = new ArrayList<>();
         return currentAnnotationNames;
     }
 
     public void addCurrentAnnotationName(final String currentAnnotationName) {
-        this.currentAnnotationNames.add(currentAnnotationName);
+        getCurrentAnnotationNames().add(currentAnnotationName);
     }
 
     public void removeCurrentAnnotationName(final String currentAnnotationName) {
-        this.currentAnnotationNames.remove(currentAnnotationName);
+        if (currentAnnotationNames != null) currentAnnotationNames.remove(currentAnnotationName);
+    }
+
+    /**
+     * Marks this context and its parents as referenced from outside the running scope.
+     */
+    public void retain() {
+        for (Context context = this; context != null && !context.retained; context = context.parentContext) {
+            context.retained = true;
+        }
+    }
+
+    /**
+     * Prepares this context for the next iteration of a loop, as if it had just been created.
+     *
+     * @return This context with every definition cleared, or a new context with the same parent and frame layout if it was retained.
+     */
+    public Context recycle() {
+        if (retained) return new Context(parentContext, frameNames);
+
+        if (frame != null) Arrays.fill(frame, null);
+        if (variables != null) variables.clear();
+        if (functions != null && !functions.isEmpty()) {
+            functions.clear();
+            functionsChanged();
+        }
+        if (classes != null) classes.clear();
+        if (annotations != null) annotations.clear();
+        if (natives != null) natives.clear();
+        if (currentAnnotationNames != null) currentAnnotationNames.clear();
+        currentClassName = null;
+        currentFunctionName = null;
+        return this;
     }
 
     public Context highest() {
@@ -216,40 +384,37 @@ public final class Context {
     public void mergeContext(final Context source) {
         if (source == null) return;
 
-        source.variables.forEach((key, value) -> {
-            if (!this.variables.containsKey(key)) {
-                this.variables.put(key, value);
-            }
-        });
+        if (source.variables != null) {
+            if (variables == null) variables = new HashMap<>();
+            source.variables.forEach(variables::putIfAbsent);
+        }
 
-        source.functions.forEach((key, list) -> {
-            List<FunctionDefinition> targetFunctions = this.functions.computeIfAbsent(key, k -> new ArrayList<>());
-            for (FunctionDefinition function : list) {
-                if (!targetFunctions.contains(function)) {
-                    targetFunctions.add(function);
-                }
+        if (source.frame != null) {
+            if (variables == null) variables = new HashMap<>();
+            for (final VariableDefinition definition : source.frame) {
+                if (definition != null) variables.putIfAbsent(definition.getName(), definition);
             }
-        });
-
+        }
 
-        for (final Map.Entry<String, List<FunctionDefinition>> entry : source.functions.entrySet()) {
-            final String key = entry.getKey();
-            final List<FunctionDefinition> list = entry.getValue();
-            final List<FunctionDefinition> targetFunctions = this.functions.computeIfAbsent(key, k -> new ArrayList<>());
-            for (final FunctionDefinition function : list) {
-                if (!targetFunctions.contains(function)) {
-                    targetFunctions.add(function);
-                }
-            }
+        if (source.functions != null) {
+            functionsChanged();
+            if (functions == null) functions = new FunctionTable();
+            functions.addAll(source.functions);
         }
 
-        source.classes.forEach(this.classes::putIfAbsent);
+        if (source.classes != null) {
+            if (classes == null) classes = new HashMap<>();
+            source.classes.forEach(classes::putIfAbsent);
+        }
 
-        source.annotations.forEach(this.annotations::putIfAbsent);
+        if (source.annotations != null) {
+            if (annotations == null) annotations = new HashMap<>();
+            source.annotations.forEach(annotations::putIfAbsent);
+        }
 
-        this.natives.addAll(source.natives);
+        if (source.natives != null) getNatives().addAll(source.natives);
 
-        this.currentAnnotationNames.addAll(source.currentAnnotationNames);
+        if (source.currentAnnotationNames != null) getCurrentAnnotationNames().addAll(source.currentAnnotationNames);
     }
 
     public Context parentContext() {
@@ -260,6 +425,7 @@ public final class Context {
     public String toString() {
         return String.format("Context{%n" +
                         "variables=%s,%n" +
+                        "frame=%s,%n" +
                         "functions=%s,%n" +
                         "classes=%s,%n" +
                         "annotations=%s,%n" +
@@ -269,7 +435,7 @@ public final class Context {
                         "currentFunctionName='%s',%n" +
                         "parentContext=%s%n" +
                         "}",
-                variables, functions, classes, annotations, natives,
+                variables, Arrays.toString(frame), functions, classes, annotations, natives,
                 currentAnnotationNames, currentClassName, currentFunctionName, parentContext);
     }
 }
\ No newline at end of file
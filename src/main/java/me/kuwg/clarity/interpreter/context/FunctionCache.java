@@ -0,0 +1,50 @@
+package me.kuwg.clarity.interpreter.context;
+
+import me.kuwg.clarity.interpreter.definition.FunctionDefinition;
+import me.kuwg.clarity.library.objects.ObjectType;
+
+import static me.kuwg.clarity.library.objects.VoidObject.VOID_OBJECT;
+
+/**
+ * Monomorphic inline cache of a call node, remembering the function it resolved to last time.
+ *
+ * <p>An entry stays valid while the function version has not changed since it was filled and every context between
+ * the caller and the context that owns the function has no functions of its own, so a hit resolves to the same
+ * definition a full {@link Context#getFunction(String, int)} lookup would.</p>
+ */
+public final class FunctionCache {
+
+    private Entry entry;
+
+    public ObjectType lookup(final Context context, final String name, final int paramsSize) {
+        final Entry cached = entry;
+        if (cached != null && cached.version == Context.functionVersion() && context.reachesFunctionOwner(cached.owner)) {
+            return cached.definition;
+        }
+
+        final Context owner = context.findFunctionOwner(name, paramsSize);
+        if (owner == null) return VOID_OBJECT;
+
+        // mark the owner before reading the version, so any later change to it bumps the version past this entry
+        owner.markFunctionOwner();
+        final int version = Context.functionVersion();
+
+        final FunctionDefinition definition = owner.getOwnFunction(name, paramsSize);
+        if (definition != null && context.findFunctionOwner(name, paramsSize) == owner) {
+            entry = new Entry(version, owner, definition);
+        }
+        return definition != null ? definition : VOID_OBJECT;
+    }
+
+    private static final class Entry {
+        private final int version;
+        private final Context owner;
+        private final FunctionDefinition definition;
+
+        private Entry(final int version, final Context owner, final FunctionDefinition definition) {
+            this.version = version;
+            this.owner = owner;
+            this.definition = definition;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package me.kuwg.clarity.interpreter.definition;
 
+import me.kuwg.clarity.ast.ASTNode;
 import me.kuwg.clarity.ast.nodes.block.BlockNode;
+import me.kuwg.clarity.ast.nodes.function.declare.FunctionDeclarationNode;
 import me.kuwg.clarity.library.objects.ObjectType;
 
 import java.util.*;
@@ -8,7 +10,7 @@ import java.util.*;
 public class ClassDefinition extends ObjectType {
 
     public final Map<String, VariableDefinition> staticVariables = new HashMap<>();
-    public final List<FunctionDefinition> staticFunctions = new ArrayList<>();
+    public final FunctionTable staticFunctions = new FunctionTable();
 
     protected final String name;
     protected final boolean isConstant;
@@ -18,6 +20,9 @@ public class ClassDefinition extends ObjectType {
     protected final BlockNode body;
     protected final boolean isNative;
 
+    private final FunctionTable methods;
+    private FunctionTable constFunctions;
+
     public ClassDefinition(final String name, final boolean isConstant, final ClassDefinition inheritedClass, final VirtualClassDefinition extendedClass, final FunctionDefinition[] constructors, final BlockNode body, final boolean isNative) {
         this.name = name;
         this.isConstant = isConstant;
@@ -26,6 +31,23 @@ public class ClassDefinition extends ObjectType {
         this.constructors = constructors;
         this.body = body;
         this.isNative = isNative;
+        this.methods = methods(body, inheritedClass);
+    }
+
+    /**
+     * Builds the method table: the functions declared in the body, then the inherited ones not overridden by them.
+     */
+    private static FunctionTable methods(final BlockNode body, final ClassDefinition inheritedClass) {
+        final FunctionTable table = new FunctionTable();
+        if (body != null) {
+            for (final ASTNode node : body) {
+                if (node instanceof FunctionDeclarationNode) {
+                    table.add(new FunctionDefinition((FunctionDeclarationNode) node));
+                }
+            }
+        }
+        if (inheritedClass != null) table.addAll(inheritedClass.methods);
+        return table;
     }
 
     public final String getName() {
@@ -57,12 +79,33 @@ public class ClassDefinition extends ObjectType {
     }
 
     public final FunctionDefinition getStaticFunction(final String name, final int params) {
-        for (final FunctionDefinition staticFunction : staticFunctions) {
-            if (staticFunction.getName().equals(name) && staticFunction.getParams().size() == params) {
-                return staticFunction;
+        return staticFunctions.get(name, params);
+    }
+
+    /**
+     * Finds a function callable on instances of this class, declared in it or inherited.
+     *
+     * @return The function, or null if neither this class nor its parents declare it.
+     */
+    public final FunctionDefinition getMethod(final String name, final int params) {
+        return methods.get(name, params);
+    }
+
+    /**
+     * Finds a const function declared in the body of this class, which subclasses are not allowed to override.
+     */
+    public final FunctionDefinition getConstFunction(final String name, final int params) {
+        FunctionTable table = constFunctions;
+        if (table == null) {
+            table = new FunctionTable();
+            for (final ASTNode node : body) {
+                if (node instanceof FunctionDeclarationNode && ((FunctionDeclarationNode) node).isConst()) {
+                    table.add(new FunctionDefinition((FunctionDeclarationNode) node));
+                }
             }
+            constFunctions = table;
         }
-        return null;
+        return table.get(name, params);
     }
 
     @Override
@@ -13,7 +13,8 @@ public class FunctionDefinition extends ObjectType {
     private final String typeDefault;
     private final boolean isStatic, isConst, isLocal, isAsync;
     private final List<String> params;
-    private final BlockNode block;
+    private final FunctionDeclarationNode node;
+    private BlockNode block;
 
     public FunctionDefinition(final String name, final String typeDefault, final boolean isStatic, final boolean isConst, final boolean isLocal, final boolean isAsync, final List<String> params, final BlockNode block) {
         this.name = name;
@@ -23,20 +24,23 @@ public class FunctionDefinition extends ObjectType {
         this.isLocal = isLocal;
         this.isAsync = isAsync;
         this.params = params;
+        this.node = null;
         this.block = block;
     }
 
+    /**
+     * Creates the definition of a declared function, its body is only loaded by {@link #getBlock()}, see
+     * {@link FunctionDeclarationNode#getBlock()}.
+     */
     public FunctionDefinition(final FunctionDeclarationNode node) {
-        this(
-                node.getFunctionName(),
-                node.getTypeDefault(),
-                node.isStatic(),
-                node.isConst(),
-                node.isLocal(),
-                node.isAsync(),
-                node.getParameterNodes().stream().map(ParameterNode::getName).collect(Collectors.toList()),
-                node.getBlock()
-        );
+        this.name = node.getFunctionName();
+        this.typeDefault = node.getTypeDefault();
+        this.isStatic = node.isStatic();
+        this.isConst = node.isConst();
+        this.isLocal = node.isLocal();
+        this.isAsync = node.isAsync();
+        this.params = node.getParameterNodes().stream().map(ParameterNode::getName).collect(Collectors.toList());
+        this.node = node;
     }
 
     public final String getName() {
@@ -68,13 +72,18 @@ public class FunctionDefinition extends ObjectType {
     }
 
     public final BlockNode getBlock() {
+        BlockNode block = this.block;
+        if (block == null && node != null) {
+            block = node.getBlock();
+            this.block = block;
+        }
         return block;
     }
 
     @Override
     public String toString() {
         return "FunctionDefinition{" +
-                "block=" + block +
+                "block=" + getBlock() +
                 ", name='" + name + '\'' +
                 ", typeDefault='" + typeDefault + '\'' +
                 ", isStatic=" + isStatic +
@@ -0,0 +1,115 @@
+package me.kuwg.clarity.interpreter.definition;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Functions indexed by name and then by parameter count, so an overload is found with one hash lookup and an array access.
+ */
+public final class FunctionTable {
+
+    private static final FunctionDefinition[] NO_OVERLOADS = new FunctionDefinition[0];
+
+    private final Map<String, FunctionDefinition[]> table = new HashMap<>();
+    private int size;
+
+    public FunctionDefinition get(final String name, final int paramsSize) {
+        final FunctionDefinition[] overloads = table.get(name);
+        return overloads != null && paramsSize >= 0 && paramsSize < overloads.length ? overloads[paramsSize] : null;
+    }
+
+    public boolean contains(final String name, final int paramsSize) {
+        return get(name, paramsSize) != null;
+    }
+
+    /**
+     * Adds a function under its own name.
+     *
+     * @return false if a function with the same name and parameter count is already present, which is kept.
+     */
+    public boolean add(final FunctionDefinition definition) {
+        return add(definition.getName(), definition);
+    }
+
+    /**
+     * Adds a function under the given name.
+     *
+     * @return false if a function with the same name and parameter count is already present, which is kept.
+     */
+    public boolean add(final String name, final FunctionDefinition definition) {
+        final int paramsSize = definition.getParams().size();
+        FunctionDefinition[] overloads = table.getOrDefault(name, NO_OVERLOADS);
+
+        if (paramsSize < overloads.length && overloads[paramsSize] != null) return false;
+
+        if (paramsSize >= overloads.length) {
+            final FunctionDefinition[] grown = new FunctionDefinition[paramsSize + 1];
+            System.arraycopy(overloads, 0, grown, 0, overloads.length);
+            overloads = grown;
+            table.put(name, overloads);
+        }
+
+        overloads[paramsSize] = definition;
+        size++;
+        return true;
+    }
+
+    /**
+     * @return true if any function with that name was present.
+     */
+    public boolean containsName(final String name) {
+        return table.containsKey(name);
+    }
+
+    /**
+     * @return false if no function with that name and parameter count was present.
+     */
+    public boolean remove(final String name, final int paramsSize) {
+        final FunctionDefinition[] overloads = table.get(name);
+        if (overloads == null || paramsSize < 0 || paramsSize >= overloads.length || overloads[paramsSize] == null) return false;
+
+        overloads[paramsSize] = null;
+        size--;
+
+        for (final FunctionDefinition overload : overloads) {
+            if (overload != null) return true;
+        }
+        table.remove(name);
+        return true;
+    }
+
+    /**
+     * Adds every function of the source table that does not clash with one already present.
+     */
+    public void addAll(final FunctionTable source) {
+        source.forEach(this::add);
+    }
+
+    public void forEach(final BiConsumer<String, FunctionDefinition> action) {
+        for (final Map.Entry<String, FunctionDefinition[]> entry : table.entrySet()) {
+            for (final FunctionDefinition definition : entry.getValue()) {
+                if (definition != null) action.accept(entry.getKey(), definition);
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        table.clear();
+        size = 0;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("{");
+        forEach((name, definition) -> {
+            if (sb.length() > 1) sb.append(", ");
+            sb.append(name).append('/').append(definition.getParams().size()).append('=').append(definition);
+        });
+        return sb.append('}').toString();
+    }
+}
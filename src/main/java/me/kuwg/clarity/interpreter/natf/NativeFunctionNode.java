@@ -5,6 +5,8 @@ import me.kuwg.clarity.compiler.CompilerVersion;
 import me.kuwg.clarity.compiler.stream.ASTInputStream;
 import me.kuwg.clarity.compiler.stream.ASTOutputStream;
 import me.kuwg.clarity.library.natives.ClarityNativeFunction;
+import me.kuwg.clarity.interpreter.Interpreter;
+import me.kuwg.clarity.interpreter.context.Context;
 
 import java.io.IOException;
 import java.util.List;
@@ -27,6 +29,11 @@ public class NativeFunctionNode extends ASTNode {
         return params;
     }
 
+    @Override
+    public Object evaluate(final Interpreter interpreter, final Context context) {
+        return interpreter.interpretNativeFunction(this, context);
+    }
+
     @Override
     public void print(final StringBuilder sb, final String indent) {
         throw new RuntimeException("Unsupported operation for native function node: \"print\"");
@@ -0,0 +1,14 @@
+package me.kuwg.clarity.library.objects;
+
+/**
+ * A value a native class keeps in a variable of its objects in another form than the one scripts see, such as a
+ * growable buffer standing for an array. Reading the variable of an object from a script returns {@link #read()}, and
+ * assigning it replaces the value, which the native class picks up on its next call.
+ */
+public interface NativeField {
+
+    /**
+     * Returns the value scripts see.
+     */
+    Object read();
+}
@@ -0,0 +1,66 @@
+package me.kuwg.clarity.library.objects.types;
+
+import java.util.BitSet;
+
+/**
+ * A {@code bool} array backed by a {@link BitSet}, one bit per element.
+ */
+public final class BoolArray extends PrimitiveArray {
+
+    private final BitSet bits;
+    private final int length;
+
+    public BoolArray(final int length) {
+        this(new BitSet(length), length);
+    }
+
+    private BoolArray(final BitSet bits, final int length) {
+        this.bits = bits;
+        this.length = length;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public Object get(final int index) {
+        return bits.get(check(index)) ? Boolean.TRUE : Boolean.FALSE;
+    }
+
+    @Override
+    public boolean set(final int index, final Object value) {
+        if (!(value instanceof Boolean)) return false;
+        bits.set(check(index), (Boolean) value);
+        return true;
+    }
+
+    @Override
+    public PrimitiveArray resize(final int length) {
+        return new BoolArray(bits.get(0, Math.min(this.length, length)), length);
+    }
+
+    @Override
+    public void copy(final int from, final PrimitiveArray to, final int at, final int length) {
+        final BoolArray target = (BoolArray) to;
+        for (int i = 0; i < length; i++) target.bits.set(at + i, bits.get(from + i));
+    }
+
+    @Override
+    public void sort() {
+        final int trues = bits.cardinality();
+        bits.clear();
+        bits.set(length - trues, length);
+    }
+
+    @Override
+    public String getTypeName() {
+        return "bool";
+    }
+
+    private int check(final int index) {
+        if (index < 0 || index >= length) throw new ArrayIndexOutOfBoundsException(index);
+        return index;
+    }
+}
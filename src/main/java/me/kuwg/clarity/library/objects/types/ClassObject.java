@@ -3,6 +3,7 @@ package me.kuwg.clarity.library.objects.types;
 import me.kuwg.clarity.Clarity;
 import me.kuwg.clarity.interpreter.Interpreter;
 import me.kuwg.clarity.interpreter.context.Context;
+import me.kuwg.clarity.interpreter.definition.ClassDefinition;
 import me.kuwg.clarity.interpreter.definition.FunctionDefinition;
 import me.kuwg.clarity.register.Register;
 import me.kuwg.clarity.util.ClassUtil;
@@ -36,6 +37,11 @@ public final class ClassObject {
      */
     private final Context context;
 
+    /**
+     * The definition of the class, holding its method table, or null if the object was not created from one.
+     */
+    private final ClassDefinition definition;
+
     /**
      * Constructs a new ClassObject.
      *
@@ -44,9 +50,22 @@ public final class ClassObject {
      * @param context   The execution context associated with this class.
      */
     public ClassObject(final String name, final ClassObject inherited, final Context context) {
+        this(name, inherited, context, null);
+    }
+
+    /**
+     * Constructs a new ClassObject of a declared class.
+     *
+     * @param name       The name of the class.
+     * @param inherited  The superclass (inherited ClassObject) if applicable, or default if there is no superclass.
+     * @param context    The execution context associated with this class.
+     * @param definition The definition the object was created from.
+     */
+    public ClassObject(final String name, final ClassObject inherited, final Context context, final ClassDefinition definition) {
         this.name = name;
         this.inherited = inherited(name, inherited);
         this.context = context;
+        this.definition = definition;
     }
 
     /**
@@ -80,6 +99,15 @@ public final class ClassObject {
         return inherited;
     }
 
+    /**
+     * Returns the definition of the class, used to look up its methods.
+     *
+     * @return The ClassDefinition, or null if the object was not created from one.
+     */
+    public ClassDefinition getDefinition() {
+        return definition;
+    }
+
     /**
      * Returns the context associated with this class object. The context is an execution
      * environment that may contain function definitions, variables, and other relevant
@@ -103,7 +131,8 @@ public final class ClassObject {
     @Override
     public String toString() {
         final FunctionDefinition definition = (FunctionDefinition) context.getFunction("print", 0);
-        final Context functionContext = new Context(context.parentContext());
+        final Context functionContext = new Context(context.parentContext(), definition.getBlock().getFrame());
+        functionContext.setCurrentClassName(name);
 
         Register.register(FUNCALL, "print()", -404, context.getCurrentClassName());
 
@@ -0,0 +1,60 @@
+package me.kuwg.clarity.library.objects.types;
+
+import java.util.Arrays;
+
+/**
+ * A {@code float} array backed by a {@code double[]}. Integers stored in it are converted.
+ */
+public final class FloatArray extends PrimitiveArray {
+
+    private final double[] values;
+
+    public FloatArray(final int length) {
+        this(new double[length]);
+    }
+
+    public FloatArray(final double[] values) {
+        this.values = values;
+    }
+
+    public double[] getValues() {
+        return values;
+    }
+
+    @Override
+    public int length() {
+        return values.length;
+    }
+
+    @Override
+    public Object get(final int index) {
+        return values[index];
+    }
+
+    @Override
+    public boolean set(final int index, final Object value) {
+        if (!(value instanceof Number)) return false;
+        values[index] = ((Number) value).doubleValue();
+        return true;
+    }
+
+    @Override
+    public PrimitiveArray resize(final int length) {
+        return new FloatArray(Arrays.copyOf(values, length));
+    }
+
+    @Override
+    public void copy(final int from, final PrimitiveArray to, final int at, final int length) {
+        System.arraycopy(values, from, ((FloatArray) to).values, at, length);
+    }
+
+    @Override
+    public void sort() {
+        Arrays.sort(values);
+    }
+
+    @Override
+    public String getTypeName() {
+        return "float";
+    }
+}
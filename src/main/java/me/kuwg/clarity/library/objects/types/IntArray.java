@@ -0,0 +1,62 @@
+package me.kuwg.clarity.library.objects.types;
+
+import me.kuwg.clarity.util.ValueCache;
+
+import java.util.Arrays;
+
+/**
+ * An {@code int} array backed by a {@code long[]}.
+ */
+public final class IntArray extends PrimitiveArray {
+
+    private final long[] values;
+
+    public IntArray(final int length) {
+        this(new long[length]);
+    }
+
+    public IntArray(final long[] values) {
+        this.values = values;
+    }
+
+    public long[] getValues() {
+        return values;
+    }
+
+    @Override
+    public int length() {
+        return values.length;
+    }
+
+    @Override
+    public Object get(final int index) {
+        return ValueCache.box(values[index]);
+    }
+
+    @Override
+    public boolean set(final int index, final Object value) {
+        if (!(value instanceof Long || value instanceof Integer)) return false;
+        values[index] = ((Number) value).longValue();
+        return true;
+    }
+
+    @Override
+    public PrimitiveArray resize(final int length) {
+        return new IntArray(Arrays.copyOf(values, length));
+    }
+
+    @Override
+    public void copy(final int from, final PrimitiveArray to, final int at, final int length) {
+        System.arraycopy(values, from, ((IntArray) to).values, at, length);
+    }
+
+    @Override
+    public void sort() {
+        Arrays.sort(values);
+    }
+
+    @Override
+    public String getTypeName() {
+        return "int";
+    }
+}
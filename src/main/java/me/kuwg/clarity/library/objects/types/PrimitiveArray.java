@@ -0,0 +1,92 @@
+package me.kuwg.clarity.library.objects.types;
+
+/**
+ * An array of a single primitive type, stored unboxed. It is an {@code arr} for type checks and supports the array
+ * member functions, but only holds values of its type: {@link IntArray}, {@link FloatArray} and {@link BoolArray}.
+ */
+public abstract class PrimitiveArray {
+
+    /**
+     * Returns the number of elements.
+     */
+    public abstract int length();
+
+    /**
+     * Returns the element at an index, boxed.
+     *
+     * @throws ArrayIndexOutOfBoundsException If the index is out of bounds.
+     */
+    public abstract Object get(int index);
+
+    /**
+     * Sets the element at an index.
+     *
+     * @return false if the value is not of the type of the array, which is left unchanged.
+     * @throws ArrayIndexOutOfBoundsException If the index is out of bounds.
+     */
+    public abstract boolean set(int index, Object value);
+
+    /**
+     * Returns a copy with another length, truncated or padded with zeros.
+     */
+    public abstract PrimitiveArray resize(int length);
+
+    /**
+     * Copies elements to an array of the same type.
+     *
+     * @param from   The index of the first element copied.
+     * @param to     The array written, created by {@link #of(String, int)} with the type of this one.
+     * @param at     The index written first.
+     * @param length The number of elements copied.
+     */
+    public abstract void copy(int from, PrimitiveArray to, int at, int length);
+
+    /**
+     * Sorts the elements in ascending order.
+     */
+    public abstract void sort();
+
+    /**
+     * Returns the name of the element type, as written in Clarity.
+     */
+    public abstract String getTypeName();
+
+    /**
+     * Returns the elements, boxed, in a new generic array.
+     */
+    public Object[] toObjectArray() {
+        final Object[] array = new Object[length()];
+        for (int i = 0; i < array.length; i++) array[i] = get(i);
+        return array;
+    }
+
+    /**
+     * Creates an empty array of the given element type.
+     *
+     * @param type   The element type: {@code int}, {@code float} or {@code bool}.
+     * @param length The number of elements.
+     * @return The array, or null if the type is unknown.
+     */
+    public static PrimitiveArray of(final String type, final int length) {
+        switch (type) {
+            case "int":
+                return new IntArray(length);
+            case "float":
+                return new FloatArray(length);
+            case "bool":
+                return new BoolArray(length);
+            default:
+                return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < length(); i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(get(i));
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -6,6 +6,8 @@ import me.kuwg.clarity.library.natives.ClarityNativeFunction;
 import me.kuwg.clarity.nmh.natives.abstracts.DefaultNativeFunction;
 import me.kuwg.clarity.nmh.natives.impl.clazz.ClassObjectNativeClass;
 import me.kuwg.clarity.nmh.natives.impl.clazz.FileNativeClass;
+import me.kuwg.clarity.nmh.natives.impl.clazz.ListNativeClass;
+import me.kuwg.clarity.nmh.natives.impl.clazz.MapNativeClass;
 import me.kuwg.clarity.nmh.natives.impl.clazz.MathNativeClass;
 import me.kuwg.clarity.nmh.natives.impl.clazz.UnsafeNativeClass;
 import me.kuwg.clarity.nmh.natives.impl.def.*;
@@ -36,6 +38,7 @@ public final class LocalClarityNativeLibrary implements ClarityNativeLibrary {
                 new PrintlnNative(),
                 new InputNative(),
                 new PrintNative(),
+                new FlushNative(),
                 new NowNative(),
                 new NanoNative(),
                 new ErrNative(),
@@ -44,6 +47,9 @@ public final class LocalClarityNativeLibrary implements ClarityNativeLibrary {
                 new TypeOfNative(),
                 new SortNative(),
                 new ArrayNative(),
+                new PrimitiveArrayNative("int"),
+                new PrimitiveArrayNative("float"),
+                new PrimitiveArrayNative("bool"),
                 new EvalNative(),
 
         };
@@ -59,6 +65,8 @@ public final class LocalClarityNativeLibrary implements ClarityNativeLibrary {
         return new ClarityNativeClass[] {
                 new MathNativeClass(),
                 new FileNativeClass(),
+                new MapNativeClass(),
+                new ListNativeClass(),
                 new UnsafeNativeClass(),
                 new ClassObjectNativeClass(),
 
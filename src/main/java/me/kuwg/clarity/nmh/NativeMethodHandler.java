@@ -13,6 +13,7 @@ import me.kuwg.clarity.nmh.natives.impl.pkg.error.ThrowNative;
 import me.kuwg.clarity.nmh.natives.impl.pkg.system.*;
 import me.kuwg.clarity.nmh.natives.impl.pkg.util.CreateListNative;
 import me.kuwg.clarity.register.Register;
+import me.kuwg.clarity.util.ConsoleOutput;
 
 import java.util.HashMap;
 import java.util.List;
@@ -162,6 +163,7 @@ public final class NativeMethodHandler {
             try {
                 return clazz.handleCall(method, params, context);
             } catch (final Exception e) {
+                ConsoleOutput.flush();
                 e.printStackTrace(System.err);
                 System.exit(1);
                 return null;
@@ -0,0 +1,181 @@
+package me.kuwg.clarity.nmh.natives.impl.clazz;
+
+import me.kuwg.clarity.interpreter.context.Context;
+import me.kuwg.clarity.library.objects.NativeField;
+import me.kuwg.clarity.nmh.natives.abstracts.NativeClass;
+import me.kuwg.clarity.register.Register;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Backs {@code natives/list.clr}. Each list keeps a {@link Buffer} in its {@code elements} variable, created on first
+ * use from the array the list was constructed with. Scripts reading {@code list.elements} still get an array, and the
+ * buffer is created again from the array they assign to it.
+ */
+public class ListNativeClass extends NativeClass {
+
+    private static final String ELEMENTS = "elements";
+
+    public ListNativeClass() {
+        super("List");
+    }
+
+    @Override
+    public Object handleCall(final String name, final List<Object> params, final Context context) throws Exception {
+        final Buffer buffer = buffer(context);
+
+        switch (name) {
+            case "add":
+                checkParams(name, params, 1);
+                buffer.add(params.get(0));
+                return VOID;
+            case "addAll":
+                checkParams(name, params, 1);
+                check("Expected array value in List#addAll, got " + getParamTypes(params), params.get(0) instanceof Object[]);
+                buffer.addAll((Object[]) params.get(0));
+                return VOID;
+            case "get":
+                checkParams(name, params, 1);
+                return buffer.get(index(params.get(0), buffer));
+            case "set":
+                checkParams(name, params, 2);
+                buffer.set(index(params.get(0), buffer), params.get(1));
+                return VOID;
+            case "remove":
+                checkParams(name, params, 1);
+                return buffer.remove(params.get(0));
+            case "contains":
+                checkParams(name, params, 1);
+                return buffer.indexOf(params.get(0)) != -1;
+            case "size":
+                checkParams(name, params, 0);
+                return (long) buffer.size();
+            case "clear":
+                checkParams(name, params, 0);
+                buffer.clear();
+                return VOID;
+            case "toArray":
+                checkParams(name, params, 0);
+                return buffer.toArray();
+            case "print":
+                checkParams(name, params, 0);
+                return buffer.toString();
+            default:
+                Register.throwException("Invalid native method name: " + name);
+                return null;
+        }
+    }
+
+    private static Buffer buffer(final Context context) {
+        final Object value = context.getVariable(ELEMENTS);
+        if (value instanceof Buffer) return (Buffer) value;
+
+        final Buffer buffer = new Buffer();
+        if (value instanceof Object[]) buffer.addAll((Object[]) value);
+        context.setVariable(ELEMENTS, buffer);
+        return buffer;
+    }
+
+    private static int index(final Object index, final Buffer buffer) {
+        if (!(index instanceof Long) || (Long) index < 0 || (Long) index >= buffer.size()) {
+            Register.throwException("Index out of bounds");
+            return -1;
+        }
+        return ((Long) index).intValue();
+    }
+
+    private void checkParams(final String methodName, final List<Object> params, final int expectedSize) {
+        if (params.size() != expectedSize) {
+            throw new IllegalArgumentException("Invalid parameters for " + methodName + ". Expected " + expectedSize + " parameter(s), got " + params.size() + " with types " + getParamTypes(params));
+        }
+    }
+
+    /**
+     * Growable array, doubling its capacity when full so appending is amortized constant time.
+     */
+    static final class Buffer implements NativeField {
+
+        private static final int INITIAL_CAPACITY = 8;
+
+        private static final Object[] EMPTY = new Object[0];
+
+        private Object[] elements = EMPTY;
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        Object get(final int index) {
+            return elements[index];
+        }
+
+        void set(final int index, final Object value) {
+            elements[index] = value;
+        }
+
+        void add(final Object value) {
+            if (size == elements.length) grow(size + 1);
+            elements[size++] = value;
+        }
+
+        void addAll(final Object[] values) {
+            if (size + values.length > elements.length) grow(size + values.length);
+            System.arraycopy(values, 0, elements, size, values.length);
+            size += values.length;
+        }
+
+        /**
+         * Removes the first element equal to the value, see {@link MapNativeClass#same(Object, Object)}.
+         */
+        boolean remove(final Object value) {
+            final int index = indexOf(value);
+            if (index == -1) return false;
+
+            System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+            elements[--size] = null;
+            return true;
+        }
+
+        int indexOf(final Object value) {
+            for (int i = 0; i < size; i++) {
+                if (MapNativeClass.same(elements[i], value)) return i;
+            }
+            return -1;
+        }
+
+        void clear() {
+            Arrays.fill(elements, 0, size, null);
+            size = 0;
+        }
+
+        Object[] toArray() {
+            return Arrays.copyOf(elements, size);
+        }
+
+        /**
+         * Returns the elements array itself, trimmed to the size, so changes made through it show in the list until
+         * the list grows, as they did when {@code elements} was a plain array.
+         */
+        @Override
+        public Object read() {
+            if (elements.length != size) elements = size == 0 ? EMPTY : Arrays.copyOf(elements, size);
+            return elements;
+        }
+
+        private void grow(final int minCapacity) {
+            elements = Arrays.copyOf(elements, Math.max(minCapacity, Math.max(INITIAL_CAPACITY, elements.length * 2)));
+        }
+
+        @Override
+        public String toString() {
+            final StringBuilder sb = new StringBuilder("[");
+            for (int i = 0; i < size; i++) {
+                if (i > 0) sb.append(", ");
+                sb.append(elements[i]);
+            }
+            return sb.append(']').toString();
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package me.kuwg.clarity.nmh.natives.impl.clazz;
+
+import me.kuwg.clarity.interpreter.context.Context;
+import me.kuwg.clarity.nmh.natives.abstracts.NativeClass;
+import me.kuwg.clarity.register.Register;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Backs {@code natives/map.clr}. Each map keeps a {@link Table} in its {@code table} variable, created on first use.
+ * <p>
+ * Keys are compared the way {@code ==} compares them: numbers by value (so {@code 3} and {@code 3.0} are the same
+ * key), strings by content, and class objects and anything else by identity.
+ * </p>
+ */
+public class MapNativeClass extends NativeClass {
+
+    private static final String TABLE = "table";
+
+    public MapNativeClass() {
+        super("Map");
+    }
+
+    @Override
+    public Object handleCall(final String name, final List<Object> params, final Context context) throws Exception {
+        final Table table = table(context);
+
+        switch (name) {
+            case "put":
+                checkParams(name, params, 2);
+                table.put(params.get(0), params.get(1));
+                return VOID;
+            case "get":
+                checkParams(name, params, 1);
+                return table.get(params.get(0), null);
+            case "getOrDef":
+                checkParams(name, params, 2);
+                return table.get(params.get(0), params.get(1));
+            case "remove":
+                checkParams(name, params, 1);
+                return table.remove(params.get(0));
+            case "containsKey":
+                checkParams(name, params, 1);
+                return table.containsKey(params.get(0));
+            case "indexOfKey":
+                checkParams(name, params, 1);
+                return (long) table.indexOf(params.get(0));
+            case "size":
+                checkParams(name, params, 0);
+                return (long) table.size();
+            case "clear":
+                checkParams(name, params, 0);
+                table.clear();
+                return VOID;
+            case "keys":
+                checkParams(name, params, 0);
+                return table.keys();
+            case "values":
+                checkParams(name, params, 0);
+                return table.values();
+            case "print":
+                checkParams(name, params, 0);
+                return table.toString();
+            default:
+                Register.throwException("Invalid native method name: " + name);
+                return null;
+        }
+    }
+
+    private static Table table(final Context context) {
+        final Object value = context.getVariable(TABLE);
+        if (value instanceof Table) return (Table) value;
+
+        final Table table = new Table();
+        context.setVariable(TABLE, table);
+        return table;
+    }
+
+    /**
+     * Compares two values the way {@code ==} does: numbers by value, strings and booleans by content, anything else by
+     * identity.
+     */
+    static boolean same(final Object a, final Object b) {
+        if (a instanceof Number && b instanceof Number) {
+            if (a instanceof Double || a instanceof Float || b instanceof Double || b instanceof Float) {
+                return ((Number) a).doubleValue() == ((Number) b).doubleValue();
+            }
+            return ((Number) a).longValue() == ((Number) b).longValue();
+        }
+        if (a instanceof String || a instanceof Boolean) return a.equals(b);
+        return a == b;
+    }
+
+    private void checkParams(final String methodName, final List<Object> params, final int expectedSize) {
+        if (params.size() != expectedSize) {
+            throw new IllegalArgumentException("Invalid parameters for " + methodName + ". Expected " + expectedSize + " parameter(s), got " + params.size() + " with types " + getParamTypes(params));
+        }
+    }
+
+    /**
+     * Insertion-ordered hash table. Entries are appended to dense key and value arrays and found through an
+     * open-addressing index with linear probing, twice as large as the arrays so it is at most half full. Removed
+     * entries leave a hole, dropped when the arrays are next resized.
+     */
+    static final class Table {
+
+        private static final int INITIAL_CAPACITY = 8;
+
+        private static final int EMPTY = -1;
+        private static final int REMOVED = -2;
+
+        private static final Object HOLE = new Object();
+
+        private Object[] keys;
+        private Object[] values;
+        private int[] hashes;
+        private int[] index;
+
+        /** Entries used in the arrays, holes included. */
+        private int count;
+        private int size;
+
+        Table() {
+            clear();
+        }
+
+        int size() {
+            return size;
+        }
+
+        void clear() {
+            keys = new Object[INITIAL_CAPACITY];
+            values = new Object[INITIAL_CAPACITY];
+            hashes = new int[INITIAL_CAPACITY];
+            index = newIndex(INITIAL_CAPACITY * 2);
+            count = 0;
+            size = 0;
+        }
+
+        Object get(final Object key, final Object defaultValue) {
+            final int entry = find(key, hash(key));
+            return entry == EMPTY ? defaultValue : values[entry];
+        }
+
+        boolean containsKey(final Object key) {
+            return find(key, hash(key)) != EMPTY;
+        }
+
+        /**
+         * Returns the position of a key among the live entries, as in {@link #keys()}, or -1 if it is missing.
+         */
+        int indexOf(final Object key) {
+            final int entry = find(key, hash(key));
+            if (entry == EMPTY) return -1;
+
+            int position = 0;
+            for (int i = 0; i < entry; i++) {
+                if (keys[i] != HOLE) position++;
+            }
+            return position;
+        }
+
+        void put(final Object key, final Object value) {
+            final int hash = hash(key);
+            final int entry = find(key, hash);
+            if (entry != EMPTY) {
+                values[entry] = value;
+                return;
+            }
+
+            if (count == keys.length) resize();
+
+            keys[count] = key;
+            values[count] = value;
+            hashes[count] = hash;
+            insert(hash, count);
+            count++;
+            size++;
+        }
+
+        boolean remove(final Object key) {
+            final int hash = hash(key);
+            final int mask = index.length - 1;
+            for (int i = hash & mask; index[i] != EMPTY; i = (i + 1) & mask) {
+                final int entry = index[i];
+                if (entry >= 0 && hashes[entry] == hash && same(keys[entry], key)) {
+                    index[i] = REMOVED;
+                    keys[entry] = HOLE;
+                    values[entry] = null;
+                    size--;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        Object[] keys() {
+            final Object[] result = new Object[size];
+            for (int i = 0, n = 0; i < count; i++) {
+                if (keys[i] != HOLE) result[n++] = keys[i];
+            }
+            return result;
+        }
+
+        Object[] values() {
+            final Object[] result = new Object[size];
+            for (int i = 0, n = 0; i < count; i++) {
+                if (keys[i] != HOLE) result[n++] = values[i];
+            }
+            return result;
+        }
+
+        private int find(final Object key, final int hash) {
+            final int mask = index.length - 1;
+            for (int i = hash & mask; index[i] != EMPTY; i = (i + 1) & mask) {
+                final int entry = index[i];
+                if (entry >= 0 && hashes[entry] == hash && same(keys[entry], key)) return entry;
+            }
+            return EMPTY;
+        }
+
+        private void insert(final int hash, final int entry) {
+            final int mask = index.length - 1;
+            int i = hash & mask;
+            while (index[i] >= 0) i = (i + 1) & mask;
+            index[i] = entry;
+        }
+
+        /**
+         * Drops the holes, and doubles the arrays unless that freed at least a quarter of them.
+         */
+        private void resize() {
+            final int capacity = size > keys.length * 3 / 4 ? keys.length * 2 : keys.length;
+
+            final Object[] newKeys = new Object[capacity];
+            final Object[] newValues = new Object[capacity];
+            final int[] newHashes = new int[capacity];
+            int n = 0;
+            for (int i = 0; i < count; i++) {
+                if (keys[i] == HOLE) continue;
+                newKeys[n] = keys[i];
+                newValues[n] = values[i];
+                newHashes[n] = hashes[i];
+                n++;
+            }
+
+            keys = newKeys;
+            values = newValues;
+            hashes = newHashes;
+            count = n;
+            index = newIndex(capacity * 2);
+            for (int i = 0; i < n; i++) insert(hashes[i], i);
+        }
+
+        private static int[] newIndex(final int length) {
+            final int[] index = new int[length];
+            Arrays.fill(index, EMPTY);
+            return index;
+        }
+
+        /**
+         * Numbers hash by their value as a double, so an integer and the float equal to it land on the same slot.
+         */
+        private static int hash(final Object key) {
+            final long bits;
+            if (key instanceof Number) {
+                final double value = ((Number) key).doubleValue();
+                bits = value == Math.rint(value) && !Double.isInfinite(value) ? (long) value : Double.doubleToLongBits(value);
+            } else if (key instanceof String || key instanceof Boolean) {
+                bits = key.hashCode();
+            } else {
+                bits = System.identityHashCode(key);
+            }
+
+            // murmur3 finalizer, the index only looks at the low bits
+            long z = bits;
+            z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+            z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+            return (int) (z ^ (z >>> 33));
+        }
+
+        @Override
+        public String toString() {
+            final StringBuilder sb = new StringBuilder("{");
+            for (int i = 0; i < count; i++) {
+                if (keys[i] == HOLE) continue;
+                if (sb.length() > 1) sb.append(", ");
+                sb.append(keys[i]).append('=').append(values[i]);
+            }
+            return sb.append('}').toString();
+        }
+    }
+}
@@ -2,6 +2,7 @@ package me.kuwg.clarity.nmh.natives.impl.def;
 
 import me.kuwg.clarity.library.objects.VoidObject;
 import me.kuwg.clarity.nmh.natives.abstracts.DefaultNativeFunction;
+import me.kuwg.clarity.util.ConsoleOutput;
 
 import java.util.Arrays;
 import java.util.HashMap;
@@ -16,6 +17,7 @@ public class ErrNative extends DefaultNativeFunction<VoidObject> {
 
     @Override
     public VoidObject call(final List<Object> params) {
+        ConsoleOutput.flush();
         System.err.println(paramsToString(params));
         return VOID;
     }
@@ -0,0 +1,34 @@
+package me.kuwg.clarity.nmh.natives.impl.def;
+
+import me.kuwg.clarity.library.objects.VoidObject;
+import me.kuwg.clarity.nmh.natives.abstracts.DefaultNativeFunction;
+import me.kuwg.clarity.util.ConsoleOutput;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class FlushNative extends DefaultNativeFunction<VoidObject> {
+
+    public FlushNative() {
+        super("flush");
+    }
+
+    @Override
+    public VoidObject call(final List<Object> params) {
+        ConsoleOutput.flush();
+        return VOID;
+    }
+
+    @Override
+    protected boolean applies0(final List<Object> params) {
+        return params.isEmpty();
+    }
+
+    @Override
+    public void help() {
+        final Map<String, String> map = new HashMap<>();
+
+        System.out.println(formatHelp(map));
+    }
+}
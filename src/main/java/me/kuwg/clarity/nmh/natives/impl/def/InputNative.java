@@ -1,6 +1,7 @@
 package me.kuwg.clarity.nmh.natives.impl.def;
 
 import me.kuwg.clarity.nmh.natives.abstracts.DefaultNativeFunction;
+import me.kuwg.clarity.util.ConsoleOutput;
 
 import java.util.HashMap;
 import java.util.List;
@@ -20,6 +21,7 @@ public class InputNative extends DefaultNativeFunction<String> {
         if (!params.isEmpty()) {
             System.out.print(params.get(0));
         }
+        ConsoleOutput.flush();
 
         return scanner.nextLine();
     }
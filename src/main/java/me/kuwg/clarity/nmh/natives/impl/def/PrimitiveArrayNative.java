@@ -0,0 +1,60 @@
+package me.kuwg.clarity.nmh.natives.impl.def;
+
+import me.kuwg.clarity.library.objects.types.PrimitiveArray;
+import me.kuwg.clarity.nmh.natives.abstracts.DefaultNativeFunction;
+import me.kuwg.clarity.register.Register;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Creates a {@link PrimitiveArray}, either empty with a length or holding the elements of another array.
+ */
+public class PrimitiveArrayNative extends DefaultNativeFunction<PrimitiveArray> {
+
+    private final String type;
+
+    public PrimitiveArrayNative(final String type) {
+        super(type + "Array");
+        this.type = type;
+    }
+
+    @Override
+    public PrimitiveArray call(final List<Object> params) {
+        final Object source = params.get(0);
+
+        if (source instanceof Long) {
+            final long length = (Long) source;
+            if (length < 0 || length > Integer.MAX_VALUE) {
+                Register.throwException("Invalid " + type + " array size: " + length);
+                return null;
+            }
+            return PrimitiveArray.of(type, (int) length);
+        }
+
+        final Object[] elements = source instanceof PrimitiveArray ? ((PrimitiveArray) source).toObjectArray() : (Object[]) source;
+        final PrimitiveArray array = PrimitiveArray.of(type, elements.length);
+        for (int i = 0; i < elements.length; i++) {
+            if (!array.set(i, elements[i])) {
+                Register.throwException("Expected " + type + " at index " + i + " of " + type + " array, got: " + elements[i]);
+                return null;
+            }
+        }
+        return array;
+    }
+
+    @Override
+    protected boolean applies0(final List<Object> params) {
+        return params.size() == 1 && (params.get(0) instanceof Long || params.get(0) instanceof Object[] || params.get(0) instanceof PrimitiveArray);
+    }
+
+    @Override
+    public void help() {
+        final Map<String, String> map = new HashMap<>();
+
+        map.put("sizeOrElements", "int|arr");
+
+        System.out.println(formatHelp(map));
+    }
+}
@@ -25,6 +25,9 @@ public class PrintlnNative extends DefaultNativeFunction<VoidObject> {
     }
 
     private String paramsToString(final List<Object> params) {
+        if (params.size() == 1 && !(params.get(0) instanceof Object[])) {
+            return String.valueOf(params.get(0)).trim();
+        }
         StringBuilder s = new StringBuilder();
         for (final Object param : params) {
             if (param instanceof Object[]) {
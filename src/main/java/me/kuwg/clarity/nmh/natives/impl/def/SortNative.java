@@ -1,77 +1,149 @@
 package me.kuwg.clarity.nmh.natives.impl.def;
 
 import me.kuwg.clarity.library.objects.VoidObject;
+import me.kuwg.clarity.library.objects.types.FloatArray;
+import me.kuwg.clarity.library.objects.types.IntArray;
+import me.kuwg.clarity.library.objects.types.LambdaObject;
+import me.kuwg.clarity.library.objects.types.PrimitiveArray;
 import me.kuwg.clarity.nmh.natives.abstracts.DefaultNativeFunction;
 import me.kuwg.clarity.register.Register;
+import me.kuwg.clarity.util.LambdaUtil;
+import me.kuwg.clarity.util.ValueCache;
 
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+/**
+ * Sorts an array in place, in ascending order or with a comparator lambda returning a negative, zero or positive int.
+ * <p>
+ * Arrays holding only ints or only floats are unboxed and sorted as primitives, strings are sorted by their natural
+ * order and mixed numbers by value. Arrays of at least {@link #PARALLEL_THRESHOLD} elements are sorted in parallel,
+ * except with a comparator, as the interpreter runs lambdas on a single thread.
+ * </p>
+ */
 public class SortNative extends DefaultNativeFunction<VoidObject> {
 
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    private static final Comparator<Object> BY_VALUE = (a, b) -> Double.compare(((Number) a).doubleValue(), ((Number) b).doubleValue());
+
     public SortNative() {
         super("sort");
     }
 
     @Override
     public VoidObject call(final List<Object> params) {
-        final Object[] arr = (Object[]) params.get(0);
-
-        for (final Object o : arr) {
-            if (!(o instanceof Number)) {
-                Register.throwException("Expected number array");
-                return VOID;
+        final Object array = params.get(0);
+
+        if (params.size() == 2) {
+            final LambdaObject comparator = (LambdaObject) params.get(1);
+            if (array instanceof PrimitiveArray) {
+                final PrimitiveArray primitive = (PrimitiveArray) array;
+                final Object[] values = primitive.toObjectArray();
+                sort(values, comparator);
+                for (int i = 0; i < values.length; i++) primitive.set(i, values[i]);
+            } else {
+                sort((Object[]) array, comparator);
             }
+            return VOID;
         }
 
-        QuickSort.quickSort(arr, 0, arr.length - 1);
+        if (array instanceof IntArray) {
+            sort(((IntArray) array).getValues());
+        } else if (array instanceof FloatArray) {
+            sort(((FloatArray) array).getValues());
+        } else if (array instanceof PrimitiveArray) {
+            ((PrimitiveArray) array).sort();
+        } else {
+            sort((Object[]) array);
+        }
 
         return VOID;
     }
 
-    @Override
-    protected boolean applies0(final List<Object> params) {
-        return params.size() == 1 && params.get(0) instanceof Object[];
-    }
+    private static void sort(final Object[] arr) {
+        if (arr.length < 2) return;
 
-    public static class QuickSort {
-        public static void quickSort(final Object[] arr, final int low, final int high) {
-            if (low < high) {
-                final int pivotIndex = partition(arr, low, high);
-                quickSort(arr, low, pivotIndex - 1);
-                quickSort(arr, pivotIndex + 1, high);
+        boolean longs = true, doubles = true, numbers = true, strings = true;
+        for (final Object o : arr) {
+            longs &= o instanceof Long;
+            doubles &= o instanceof Double;
+            numbers &= o instanceof Number;
+            strings &= o instanceof String;
+            if (!numbers && !strings) {
+                Register.throwException("Expected number or string array");
+                return;
             }
         }
 
-        private static int partition(final Object[] arr, final int low, final int high) {
-            final Number pivot = ((Number) arr[high]);
-            int i = (low - 1);
+        if (longs) {
+            final long[] values = new long[arr.length];
+            for (int i = 0; i < arr.length; i++) values[i] = (Long) arr[i];
+            sort(values);
+            for (int i = 0; i < arr.length; i++) arr[i] = ValueCache.box(values[i]);
+        } else if (doubles) {
+            final double[] values = new double[arr.length];
+            for (int i = 0; i < arr.length; i++) values[i] = (Double) arr[i];
+            sort(values);
+            for (int i = 0; i < arr.length; i++) arr[i] = values[i];
+        } else if (strings) {
+            final String[] values = new String[arr.length];
+            System.arraycopy(arr, 0, values, 0, arr.length);
+            if (values.length >= PARALLEL_THRESHOLD) Arrays.parallelSort(values);
+            else Arrays.sort(values);
+            System.arraycopy(values, 0, arr, 0, arr.length);
+        } else {
+            if (arr.length >= PARALLEL_THRESHOLD) Arrays.parallelSort(arr, BY_VALUE);
+            else Arrays.sort(arr, BY_VALUE);
+        }
+    }
 
-            for (int j = low; j < high; j++) {
-                if (((Number) arr[j]).doubleValue() <= pivot.doubleValue()) {
-                    i++;
-                    swap(arr, i, j);
-                }
-            }
+    private static void sort(final long[] values) {
+        if (values.length >= PARALLEL_THRESHOLD) Arrays.parallelSort(values);
+        else Arrays.sort(values);
+    }
+
+    private static void sort(final double[] values) {
+        if (values.length >= PARALLEL_THRESHOLD) Arrays.parallelSort(values);
+        else Arrays.sort(values);
+    }
 
-            swap(arr, i + 1, high);
-            return i + 1;
+    private static void sort(final Object[] arr, final LambdaObject comparator) {
+        if (comparator.getParams().size() != 2) {
+            Register.throwException("Expected a comparator with 2 params, got " + comparator.getParams().size());
+            return;
         }
 
-        private static void swap(final Object[] arr, final int i, final int j) {
-            final Object temp = arr[i];
-            arr[i] = arr[j];
-            arr[j] = temp;
+        try {
+            Arrays.sort(arr, (a, b) -> {
+                final Object result = LambdaUtil.callLambda(comparator, Arrays.asList(a, b), comparator.getContext());
+                if (!(result instanceof Long)) {
+                    Register.throwException("Expected int from comparator, got " + result);
+                }
+                return Long.signum((Long) result);
+            });
+        } catch (final IllegalArgumentException e) {
+            Register.throwException("Comparator is not consistent: " + e.getMessage());
         }
     }
 
+    @Override
+    protected boolean applies0(final List<Object> params) {
+        if (params.isEmpty() || params.size() > 2) return false;
+        if (params.size() == 2 && !(params.get(1) instanceof LambdaObject)) return false;
+        return params.get(0) instanceof Object[] || params.get(0) instanceof PrimitiveArray;
+    }
+
     @Override
     public void help() {
         final Map<String, String> map = new HashMap<>();
 
         map.put("array", "arr");
+        map.put("comparator", "lambda (optional)");
 
         System.out.println(formatHelp(map));
     }
-}
\ No newline at end of file
+}
@@ -3,6 +3,7 @@ package me.kuwg.clarity.nmh.natives.impl.def;
 import me.kuwg.clarity.library.objects.VoidObject;
 import me.kuwg.clarity.library.objects.types.ClassObject;
 import me.kuwg.clarity.library.objects.types.LambdaObject;
+import me.kuwg.clarity.library.objects.types.PrimitiveArray;
 import me.kuwg.clarity.nmh.natives.abstracts.DefaultNativeFunction;
 import me.kuwg.clarity.register.Register;
 
@@ -30,7 +31,7 @@ public class TypeOfNative extends DefaultNativeFunction<String> {
             return "float";
         } else if (result instanceof ClassObject) {
             return ((ClassObject) result).getName();
-        } else if (result instanceof Object[]) {
+        } else if (result instanceof Object[] || result instanceof PrimitiveArray) {
             return "arr";
         } else if (result instanceof Boolean) {
             return "bool";
@@ -1,6 +1,7 @@
 package me.kuwg.clarity.nmh.natives.impl.pkg.system;
 
 import me.kuwg.clarity.library.objects.VoidObject;
+import me.kuwg.clarity.library.objects.types.PrimitiveArray;
 import me.kuwg.clarity.register.Register;
 
 import java.util.List;
@@ -30,7 +31,7 @@ public class CheckNativeTypeNative extends SystemNativeFunction<Boolean> {
             case "bool":
                 return got instanceof Boolean;
             case "arr":
-                return got instanceof Object[];
+                return got instanceof Object[] || got instanceof PrimitiveArray;
             case "void":
                 return got instanceof VoidObject;
             default:
@@ -31,8 +31,10 @@ public final class ASTOptimizer {
     }
 
     public AST optimize() {
-        if (Clarity.INFORMATION.getOption("optimize")) ast.getRoot().getChildren().replaceAll(this::optimizeNode);
-        return ast;
+        if (!Clarity.INFORMATION.getOption("optimize")) return ast;
+
+        final BlockNode root = ast.getRoot().map(this::optimizeNode);
+        return root == ast.getRoot() ? ast : new AST(root);
     }
 
     private ASTNode optimizeNode(final ASTNode node) {
@@ -263,19 +265,16 @@ public final class ASTOptimizer {
     }
 
     private FunctionDeclarationNode optimizeFunctionDeclaration(final FunctionDeclarationNode node) {
-        node.getBlock().getChildren().replaceAll(this::optimizeNode);
+        node.setBlock(node.getBlock().map(this::optimizeNode));
         return node;
     }
 
     private BlockNode optimizeBlock(final BlockNode node) {
-        node.getChildren().replaceAll(this::optimizeNode);
-        return node;
+        return node.map(this::optimizeNode);
     }
 
     private TryExceptBlock optimizeTryExcept(final TryExceptBlock node) {
-        node.getTryBlock().getChildren().replaceAll(this::optimizeNode);
-        node.getExceptBlock().getChildren().replaceAll(this::optimizeNode);
-        return node;
+        return new TryExceptBlock(node.getTryBlock().map(this::optimizeNode), node.getExcepted(), node.getExceptBlock().map(this::optimizeNode)).setLine(node.getLine());
     }
 
     private WhileNode optimizeWhileNode(final WhileNode node) {
@@ -329,7 +328,7 @@ public final class ASTOptimizer {
     }
 
     private StaticBlockNode optimizeStaticBlock(final StaticBlockNode node) {
-        node.getBlock().getChildren().replaceAll(this::optimizeNode);
+        node.setBlock(node.getBlock().map(this::optimizeNode));
         return node;
     }
 
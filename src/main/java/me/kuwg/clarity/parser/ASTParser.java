@@ -28,7 +28,10 @@ import me.kuwg.clarity.ast.nodes.variable.get.LocalVariableReferenceNode;
 import me.kuwg.clarity.ast.nodes.variable.get.ObjectVariableReferenceNode;
 import me.kuwg.clarity.ast.nodes.variable.get.VariableReferenceNode;
 import me.kuwg.clarity.compiler.ASTLoader;
+import me.kuwg.clarity.compiler.CompileCache;
+import me.kuwg.clarity.compiler.StdlibCompiler;
 import me.kuwg.clarity.register.Register;
+import me.kuwg.clarity.register.RegisterException;
 import me.kuwg.clarity.token.Token;
 import me.kuwg.clarity.token.TokenType;
 import me.kuwg.clarity.token.Tokenizer;
@@ -40,47 +43,40 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Supplier;
 
 import static me.kuwg.clarity.token.TokenType.*;
 
 public final class ASTParser {
 
-    private static final List<IncludeNode> includes = new ArrayList<>();
+    private static final List<IncludeNode> INCLUDES = new ArrayList<>();
 
     private static IncludeNode CLASSOBJECT_NODE = null;
     private static IncludeNode DEFAULT_NODE = null;
 
     private static boolean LOADED;
 
-    private void load() {
+    private static void load() {
         try {
             LOADED = true;
 
-            CLASSOBJECT_NODE = parseClassObjectInclude();
-            includes.add(CLASSOBJECT_NODE);
+            final ASTParser parser = new ASTParser("DEFAULTS.clr", "DEFAULTS.clr", Collections.emptyList(), INCLUDES);
 
-            InputStream inputStream = getClass().getClassLoader().getResourceAsStream("DEFAULTS.clr");
-            if (inputStream == null) {
-                throw new IOException();
-            }
+            CLASSOBJECT_NODE = parser.parseClassObjectInclude();
+            INCLUDES.add(CLASSOBJECT_NODE);
 
-            String content;
-            try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
-                content = reader.lines().collect(Collectors.joining("\n"));
-            } catch (IOException e) {
-                throw new RuntimeException(e);
+            final AST ast = parser.parseResource("DEFAULTS.clr", "DEFAULTS.clr", INCLUDES);
+            if (ast == null) {
+                throw new IOException();
             }
 
-            final List<Token> tokens = Tokenizer.tokenize(content);
-            final ASTParser parser = new ASTParser(original, "DEFAULTS.clr", tokens);
-            final AST ast = parser.parseL();
-
             if (Clarity.INFORMATION.getOption("defaults")) {
                 DEFAULT_NODE = new IncludeNode("DEFAULTS.clr", ast.getRoot(), false);
-                includes.add(DEFAULT_NODE);
+                INCLUDES.add(DEFAULT_NODE);
             } else {
                 DEFAULT_NODE = null;
             }
@@ -89,84 +85,87 @@ public final class ASTParser {
         }
     }
 
+    /**
+     * Parses a standard library file on its own, with the natives it includes saved inside it, the list of included
+     * files is left as it was. Used to compile the standard library.
+     */
+    public static AST parseStandalone(final String name, final String content) {
+        if (!LOADED) load();
+        return new ASTParser(name, name, Tokenizer.tokenize(content), new ArrayList<>()).parseL();
+    }
+
     private final String original;
     private final String fileName;
     private final List<Token> tokens;
+    private final List<IncludeNode> includes;
     private int currentTokenIndex = 0;
 
     public ASTParser(final String original, final String fileName, final List<Token> tokens) {
+        this(original, fileName, tokens, INCLUDES);
         if (!LOADED) load();
+    }
+
+    /**
+     * @param includes The files included so far, which are not included again.
+     */
+    private ASTParser(final String original, final String fileName, final List<Token> tokens, final List<IncludeNode> includes) {
         this.original = original;
         this.fileName = fileName;
         this.tokens = tokens;
+        this.includes = includes;
     }
 
     // parse including defaults and classobject
     public AST parseI() {
-        final BlockNode node = new BlockNode();
+        final List<ASTNode> children = new ArrayList<>();
 
         // include defaults
-        node.addChild(CLASSOBJECT_NODE);
-        if (DEFAULT_NODE != null) node.addChild(DEFAULT_NODE);
+        children.add(CLASSOBJECT_NODE);
+        if (DEFAULT_NODE != null) children.add(DEFAULT_NODE);
 
         // parse includes
-        while (matchAndConsume(KEYWORD, "include")) {
-            final List<IncludeNode> localIncludes = parseInclude();
-
-            for (final IncludeNode localInclude : localIncludes) {
-                if (!localInclude.getName().equals("classobject.clr") && includes.stream().noneMatch(included -> included.getName().equals(localInclude.getName()))) {
-                    includes.add(localInclude);
-                    node.addChild(localInclude);
-                }
-            }
-        }
+        parseIncludes(children);
 
         while (currentTokenIndex < tokens.size()) {
             final ASTNode result = parseExpression();
-            if (result != null) node.addChild(result);
+            if (result != null) children.add(result);
         }
-        return new AST(node);
+        final AST ast = new AST(new BlockNode(children));
+        ScopeResolver.resolve(ast, true);
+        return ast;
     }
 
     // parse without including defaults and classobject
     public AST parseL() {
-        final BlockNode node = new BlockNode();
+        final List<ASTNode> children = new ArrayList<>();
 
         // parse includes
-        while (matchAndConsume(KEYWORD, "include")) {
-            final List<IncludeNode> localIncludes = parseInclude();
-
-            for (final IncludeNode localInclude : localIncludes) {
-                if (!localInclude.getName().equals("classobject.clr") && includes.stream().noneMatch(included -> included.getName().equals(localInclude.getName()))) {
-                    includes.add(localInclude);
-                    node.addChild(localInclude);
-                }
-            }
-        }
+        parseIncludes(children);
 
         while (currentTokenIndex < tokens.size()) {
             final ASTNode result = parseExpression();
-            if (result != null) node.addChild(result);
+            if (result != null) children.add(result);
         }
-        return new AST(node);
+        final AST ast = new AST(new BlockNode(children));
+        ScopeResolver.resolve(ast, false);
+        return ast;
     }
 
     private BlockNode parseBlock() {
-        final BlockNode node = new BlockNode();
         final int line = current().getLine();
         if (!matchAndConsume(DIVIDER, "{")) {
             final ASTNode result = parseExpression();
-            if (result != null) node.addChild(result);
-            else throw new IllegalStateException("Block has no expression at line " + node.getLine());
-            return node.setLine(result.getLine());
+            if (result == null) throw new IllegalStateException("Block has no expression at line " + line);
+            return new BlockNode(result).setLine(result.getLine());
         }
 
+        final List<ASTNode> children = new ArrayList<>();
         while (!matchAndConsume(DIVIDER, "}")) {
             final ASTNode result = parseExpression();
-            if (result != null) node.addChild(result);
+            if (result != null) children.add(result);
         }
 
-        return node.setLine(line);
+        return new BlockNode(children).setLine(line);
     }
 
     private ASTNode parseKeyword() {
@@ -874,18 +873,17 @@ public final class ASTParser {
 
         final String extendedClass = matchAndConsume(KEYWORD, "extends") ? variable() : null;
 
-        final BlockNode body = parseBlock();
-
         List<FunctionDeclarationNode> constructors = new ArrayList<>();
-        for (ASTNode node : body.getChildren()) {
+        final BlockNode body = parseBlock().map(node -> {
             if (node instanceof FunctionDeclarationNode) {
                 FunctionDeclarationNode cast = (FunctionDeclarationNode) node;
                 if (cast.getFunctionName().equals("constructor")) {
                     constructors.add(cast);
-                    body.getChildren().remove(node);
+                    return null;
                 }
             }
-        }
+            return node;
+        });
 
         return new ClassDeclarationNode(name, isConstant, inheritedClass, extendedClass, fileName, constructors, body).setLine(line);
     }
@@ -973,112 +971,196 @@ public final class ASTParser {
         return new VoidNode().setLine(line);
     }
 
-    private List<IncludeNode> parseInclude() {
-        IncludeNode included;
-
-        include:
-        {
-            boolean isNative = matchAndConsume(KEYWORD, "native");
-            boolean isCompiled = matchAndConsume(KEYWORD, "compiled");
-
-            if (isNative && isCompiled)
-                throw new UnsupportedOperationException("Native compiled files do not exist, at line " + current().getLine());
-
-            final int line = current().getLine();
+    /**
+     * Parses the include statements at the start of a file, and adds the files they include to the tree.
+     * <p>
+     * The included files are independent, so they are parsed in parallel, each with its own list of included files.
+     * They are then merged in the order they are included: the files they include that were already included are
+     * dropped, leaving the same tree as parsing them one after the other.
+     * </p>
+     */
+    private void parseIncludes(final List<ASTNode> children) {
+        final List<List<Supplier<IncludeNode>>> statements = new ArrayList<>();
+        while (matchAndConsume(KEYWORD, "include")) {
+            statements.add(parseInclude());
+        }
 
-            final String path = parseIncludePath(isCompiled);
+        for (final List<IncludeNode> localIncludes : parseIncludedFiles(statements)) {
+            for (final IncludeNode localInclude : localIncludes) {
+                localInclude.setBlock(registerIncludes(localInclude.getBlock(), includes));
+            }
 
-            if (path.endsWith("*")) {
+            for (final IncludeNode localInclude : localIncludes) {
+                if (!localInclude.getName().equals("classobject.clr") && includes.stream().noneMatch(included -> included.getName().equals(localInclude.getName()))) {
+                    includes.add(localInclude);
+                    children.add(localInclude);
+                }
+            }
+        }
+    }
 
-                if (path.length() == 1) {
-                    if (!isNative) {
-                        throw new UnsupportedOperationException("Including all files is NOT a good idea!" + current().getLine());
+    /**
+     * Runs the parsing of the files included by each statement, on the fork-join pool when there is more than one.
+     *
+     * @return The included files of each statement, in order.
+     */
+    private static List<List<IncludeNode>> parseIncludedFiles(final List<List<Supplier<IncludeNode>>> statements) {
+        final List<Supplier<IncludeNode>> files = new ArrayList<>();
+        statements.forEach(files::addAll);
+
+        final Object[] results = new Object[files.size()];
+        if (files.size() > 1 && Clarity.INFORMATION.getOption("parallelincludes")) {
+            final List<ForkJoinTask<?>> tasks = new ArrayList<>(files.size());
+            for (int i = 0; i < files.size(); i++) {
+                final int index = i;
+                tasks.add(ForkJoinTask.adapt(() -> {
+                    try {
+                        results[index] = Register.deferred(files.get(index));
+                    } catch (final RuntimeException | Error e) {
+                        // rethrown in order below, as sequential parsing would
+                        results[index] = e;
                     }
+                }));
+            }
+            ForkJoinTask.invokeAll(tasks);
+        } else {
+            for (int i = 0; i < files.size(); i++) {
+                results[i] = files.get(i).get();
+            }
+        }
 
-                    final List<IncludeNode> includes = new ArrayList<>();
+        final List<List<IncludeNode>> parsed = new ArrayList<>(statements.size());
+        int index = 0;
+        for (final List<Supplier<IncludeNode>> statement : statements) {
+            final List<IncludeNode> localIncludes = new ArrayList<>(statement.size());
+            for (int i = 0; i < statement.size(); i++) {
+                final Object result = results[index++];
+                if (result instanceof RegisterException) Register.rethrow((RegisterException) result);
+                if (result instanceof RuntimeException) throw (RuntimeException) result;
+                if (result instanceof Error) throw (Error) result;
+                localIncludes.add((IncludeNode) result);
+            }
+            parsed.add(localIncludes);
+        }
+        return parsed;
+    }
 
-                    try {
-                        final URL nativeDirURL = getClass().getClassLoader().getResource("natives");
-                        if (nativeDirURL == null) {
-                            throw new IOException("Native resources folder not found");
-                        }
+    /**
+     * Parses an include statement, the files it includes are only read and parsed by the returned suppliers.
+     */
+    private List<Supplier<IncludeNode>> parseInclude() {
+        boolean isNative = matchAndConsume(KEYWORD, "native");
+        boolean isCompiled = matchAndConsume(KEYWORD, "compiled");
 
-                        final File nativeDir = new File(nativeDirURL.toURI());
-                        final File[] files = nativeDir.listFiles();
+        if (isNative && isCompiled)
+            throw new UnsupportedOperationException("Native compiled files do not exist, at line " + current().getLine());
 
+        final int line = current().getLine();
 
+        final String path = parseIncludePath(isCompiled);
 
-                        if (files != null) {
-                            for (File file : files) {
-                                if (file.isFile()) {
-                                    final String content = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
-                                    final List<Token> tokens = Tokenizer.tokenize(content);
-                                    final ASTParser parser = new ASTParser(original, file.getName(), tokens);
-                                    final AST ast = parser.parseL();
+        if (path.endsWith("*")) {
+            CompileCache.uncacheable();
 
-                                    includes.add(new IncludeNode(file.getName(), ast.getRoot(), true).setLine(line));
-                                }
-                            }
-                        }
+            final List<Supplier<IncludeNode>> included = new ArrayList<>();
 
-                        return includes;
-                    } catch (final Exception e) {
-                        throw new RuntimeException("Failed to load native files", e);
-                    }
+            if (path.length() == 1) {
+                if (!isNative) {
+                    throw new UnsupportedOperationException("Including all files is NOT a good idea!" + current().getLine());
                 }
 
                 try {
-                    final String pathSub = path.substring(0, path.length() - 3); // remove last 3 chars (dot, t/f, *)
-
-                    final boolean compile = path.indexOf(path.length() - 2) == 't';
+                    final URL nativeDirURL = getClass().getClassLoader().getResource("natives");
+                    if (nativeDirURL == null) {
+                        throw new IOException("Native resources folder not found");
+                    }
 
-                    final File dir = new File(pathSub);
+                    final File nativeDir = new File(nativeDirURL.toURI());
+                    final File[] files = nativeDir.listFiles();
+
+                    if (files != null) {
+                        Arrays.sort(files);
+                        for (File file : files) {
+                            if (file.isFile()) {
+                                included.add(() -> {
+                                    try {
+                                        return new IncludeNode(file.getName(), parseFile(file, file.getName()).getRoot(), true).setLine(line);
+                                    } catch (final IOException e) {
+                                        Register.throwException("Failed to load the native file " + file.getName() + ": " + e.getMessage(), line);
+                                        return null;
+                                    }
+                                });
+                            }
+                        }
+                    }
 
-                    final File[] files = dir.listFiles();
+                    return included;
+                } catch (final Exception e) {
+                    throw new RuntimeException("Failed to load native files", e);
+                }
+            }
 
-                    assert files != null : "Expected directory at line " + current().getLine();
+            final boolean compiled = path.charAt(path.length() - 2) == 't';
+            final String directory = path.substring(0, path.length() - 2); // remove t/f and *
+            final File dir = new File(new File(original).getParentFile(), directory);
+            final File[] files = dir.listFiles();
 
-                    for (final File file : files) {
-                        final String fn = file.getName();
-                        if (file.isFile() && (fn.substring(fn.lastIndexOf('.' + 1)).equals("cclr") == compile)) {
-                            final String content = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
-                            final List<Token> tokens = Tokenizer.tokenize(content);
-                            final ASTParser parser = new ASTParser(original, file.getName(), tokens);
-                            final AST ast = parser.parseL();
+            if (files == null) {
+                Register.throwException("Expected directory: " + dir, line);
+                return included;
+            }
 
-                            includes.add(new IncludeNode(file.getName(), ast.getRoot(), true).setLine(line));
+            Arrays.sort(files);
+            for (final File file : files) {
+                if (file.isFile() && file.getName().endsWith(compiled ? ".cclr" : ".clr")) {
+                    // named like a single include of the file, so both are only included once
+                    final String name = directory + '/' + file.getName();
+                    included.add(() -> {
+                        try {
+                            final AST ast = compiled ? new ASTLoader(file).load() : parseFile(file, name);
+                            if (compiled) CompileCache.dependOnFile(file);
+                            return new IncludeNode(name, ast.getRoot(), false).setLine(line);
+                        } catch (final IOException e) {
+                            Register.throwException("Failed to load the included file " + file + ": " + e.getMessage(), line);
+                            return null;
                         }
-                    }
-                } catch (final Exception e) {
-                    throw new RuntimeException("Failed to load files", e);
+                    });
                 }
             }
 
-            if (isCompiled) {
-                final File file;
+            return included;
+        }
 
-                if (matchAndConsume(VARIABLE, "from")) {
-                    file = new File(Clarity.USER_HOME + "/Clarity/libraries/" + variable(), path);
-                } else {
-                    file = new File(path);
-                }
+        if (isCompiled) {
+            final File file;
+
+            if (matchAndConsume(VARIABLE, "from")) {
+                file = new File(Clarity.USER_HOME + "/Clarity/libraries/" + variable(), path);
+            } else {
+                file = new File(path);
+            }
 
+            return Collections.singletonList(() -> {
                 ASTLoader loader = new ASTLoader(file);
                 try {
-                    included = new IncludeNode(path, loader.load().getRoot(), false).setLine(line);
-                    break include;
+                    final IncludeNode node = new IncludeNode(path, loader.load().getRoot(), false).setLine(line);
+                    CompileCache.dependOnFile(file);
+                    return node;
                 } catch (IOException e) {
                     System.err.println("Failed to load the AST:");
                     if (e instanceof NoSuchFileException) {
                         System.err.println("No such file: " + file);
                     }
                     System.exit(1);
+                    return null;
                 }
-            }
+            });
+        }
 
-            if (isNative) {
-                InputStream inputStream = getClass().getClassLoader().getResourceAsStream("natives/" + path);
-                if (inputStream == null) {
+        if (isNative) {
+            return Collections.singletonList(() -> {
+                final AST ast = parseResource("natives/" + path, path, new ArrayList<>());
+                if (ast == null) {
                     try {
                         throw new IOException("Native library not found: '" + path + "'");
                     } catch (IOException e) {
@@ -1086,35 +1168,36 @@ public final class ASTParser {
                     }
                 }
 
-                String content;
-                try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
-                    content = reader.lines().collect(Collectors.joining("\n"));
-                } catch (IOException e) {
-                    throw new RuntimeException(e);
-                }
-
-                final List<Token> tokens = Tokenizer.tokenize(content);
-                final ASTParser parser = new ASTParser(original, path, tokens);
-                final AST ast = parser.parseL();
-                included = new IncludeNode(path, ast.getRoot(), true).setLine(line);
-                break include;
-            }
+                return new IncludeNode(path, ast.getRoot(), true).setLine(line);
+            });
+        }
 
+        return Collections.singletonList(() -> {
             final String content;
             try {
-                content = new String(Files.readAllBytes(new File(new File(original).getParentFile(), path).toPath()), StandardCharsets.UTF_8);
+                final File file = new File(new File(original).getParentFile(), path);
+                final byte[] bytes = Files.readAllBytes(file.toPath());
+                CompileCache.dependOnFile(file, bytes);
+                content = new String(bytes, StandardCharsets.UTF_8);
             } catch (IOException e) {
                 throw new RuntimeException(e);
             }
 
             final List<Token> tokens = Tokenizer.tokenize(content);
-            final ASTParser parser = new ASTParser(original, path, tokens);
+            final ASTParser parser = new ASTParser(original, path, tokens, new ArrayList<>());
             final AST ast = parser.parseL();
 
-            included = new IncludeNode(path, ast.getRoot(), false).setLine(line);
-        }
+            return new IncludeNode(path, ast.getRoot(), false).setLine(line);
+        });
+    }
 
-        return Collections.singletonList(included);
+    /**
+     * Parses a file included by a wildcard, with its own list of included files.
+     */
+    private AST parseFile(final File file, final String name) throws IOException {
+        final String content = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+        final List<Token> tokens = Tokenizer.tokenize(content);
+        return new ASTParser(original, name, tokens, new ArrayList<>()).parseL();
     }
 
     private IncludeNode parseSingleInclude() {
@@ -1139,7 +1222,9 @@ public final class ASTParser {
 
             ASTLoader loader = new ASTLoader(file);
             try {
-                return new IncludeNode(path, loader.load().getRoot(), false).setLine(line);
+                final IncludeNode node = new IncludeNode(path, loader.load().getRoot(), false).setLine(line);
+                CompileCache.dependOnFile(file);
+                return node;
             } catch (IOException e) {
                 System.err.println("Failed to load the AST:");
                 if (e instanceof NoSuchFileException) {
@@ -1150,8 +1235,8 @@ public final class ASTParser {
         }
 
         if (isNative) {
-            InputStream inputStream = getClass().getClassLoader().getResourceAsStream("natives/" + path);
-            if (inputStream == null) {
+            final AST ast = parseResource("natives/" + path, path, includes);
+            if (ast == null) {
                 try {
                     throw new IOException("Native library not found: '" + path + "'");
                 } catch (IOException e) {
@@ -1159,36 +1244,29 @@ public final class ASTParser {
                 }
             }
 
-            String content;
-            try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
-                content = reader.lines().collect(Collectors.joining("\n"));
-            } catch (IOException e) {
-                throw new RuntimeException(e);
-            }
-
-            final List<Token> tokens = Tokenizer.tokenize(content);
-            final ASTParser parser = new ASTParser(original, path, tokens);
-            final AST ast = parser.parseL();
             return new IncludeNode(path, ast.getRoot(), true).setLine(line);
         }
 
         final String content;
         try {
-            content = new String(Files.readAllBytes(new File(new File(original).getParentFile(), path).toPath()), StandardCharsets.UTF_8);
+            final File file = new File(new File(original).getParentFile(), path);
+            final byte[] bytes = Files.readAllBytes(file.toPath());
+            CompileCache.dependOnFile(file, bytes);
+            content = new String(bytes, StandardCharsets.UTF_8);
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
 
         final List<Token> tokens = Tokenizer.tokenize(content);
-        final ASTParser parser = new ASTParser(original, path, tokens);
+        final ASTParser parser = new ASTParser(original, path, tokens, includes);
         final AST ast = parser.parseL();
 
         return new IncludeNode(path, ast.getRoot(), false).setLine(line);
     }
 
     private IncludeNode parseClassObjectInclude() {
-        InputStream inputStream = getClass().getClassLoader().getResourceAsStream("natives/classobject.clr");
-        if (inputStream == null) {
+        final AST ast = parseResource("natives/classobject.clr", "classobject.clr", includes);
+        if (ast == null) {
             try {
                 throw new IOException("Native library not found for class object: 'classobject.clr'");
             } catch (IOException e) {
@@ -1196,17 +1274,58 @@ public final class ASTParser {
             }
         }
 
-        String content;
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
-            content = reader.lines().collect(Collectors.joining("\n"));
+        return new IncludeNode("classobject.clr", ast.getRoot(), true).setLine(-1);
+    }
+
+    /**
+     * Parses a standard library resource, or loads its compiled version when it is up to date.
+     *
+     * @param includes The files included so far.
+     * @return The parsed AST, or null if there is no such resource.
+     */
+    private AST parseResource(final String resource, final String name, final List<IncludeNode> includes) {
+        final InputStream inputStream = getClass().getClassLoader().getResourceAsStream(resource);
+        if (inputStream == null) return null;
+
+        final String content;
+        try {
+            content = StdlibCompiler.read(inputStream);
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
 
+        CompileCache.dependOnResource(resource, content);
+
+        if (Clarity.INFORMATION.getOption("precompiled")) {
+            final AST ast = StdlibCompiler.load(resource, content);
+            if (ast != null) {
+                return new AST(registerIncludes(ast.getRoot(), includes));
+            }
+        }
+
         final List<Token> tokens = Tokenizer.tokenize(content);
-        final ASTParser parser = new ASTParser(original, "classobject.clr", tokens);
-        final AST ast = parser.parseL();
-        return new IncludeNode("classobject.clr", ast.getRoot(), true).setLine(-1);
+        final ASTParser parser = new ASTParser(original, name, tokens, includes);
+        return parser.parseL();
+    }
+
+    /**
+     * Drops the includes of a compiled file that were included already, as {@link #parseL()} does when parsing it.
+     *
+     * @return The block without them.
+     */
+    private static BlockNode registerIncludes(final BlockNode block, final List<IncludeNode> includes) {
+        return block.map(node -> {
+            if (!(node instanceof IncludeNode)) return node;
+
+            final IncludeNode include = (IncludeNode) node;
+            if (include.getName().equals("classobject.clr") || includes.stream().anyMatch(included -> included.getName().equals(include.getName()))) {
+                return null;
+            }
+
+            includes.add(include);
+            include.setBlock(registerIncludes(include.getBlock(), includes));
+            return include;
+        });
     }
 
     private String parseIncludePath(final boolean compiled) {
@@ -1224,7 +1343,7 @@ public final class ASTParser {
                 path.append(compiled ? "t" : "f").append("*");
                 return path.toString();
             }
-            path.append("\\").append(variable());
+            path.append('/').append(variable());
         }
 
         return path + (compiled ? ".cclr" : ".clr");
@@ -1325,18 +1444,17 @@ public final class ASTParser {
         }
 
         final int line = current().getLine();
-        final BlockNode body = parseBlock();
-
         final List<FunctionDeclarationNode> constructors = new ArrayList<>();
-        for (ASTNode node : body.getChildren()) {
+        final BlockNode body = parseBlock().map(node -> {
             if (node instanceof FunctionDeclarationNode) {
                 FunctionDeclarationNode cast = (FunctionDeclarationNode) node;
                 if (cast.getFunctionName().equals("constructor")) {
                     constructors.add(cast);
-                    body.getChildren().remove(node);
+                    return null;
                 }
             }
-        }
+            return node;
+        });
         return new NativeClassDeclarationNode(name, isConstant, inheritedClass, fileName, constructors, body).setLine(line);
     }
 
@@ -1620,22 +1738,21 @@ public final class ASTParser {
 
             final String extendedClass = matchAndConsume(KEYWORD, "extends") ? variable() : null;
 
-            final BlockNode body = parseBlock();
-
             final List<FunctionDeclarationNode> constructors = new ArrayList<>();
             final List<VirtualFunctionDeclarationNode> virtualFunctions = new ArrayList<>();
-            for (final ASTNode node : body.getChildren()) {
+            final BlockNode body = parseBlock().map(node -> {
                 if (node instanceof FunctionDeclarationNode) {
                     final FunctionDeclarationNode cast = (FunctionDeclarationNode) node;
                     if (cast.getFunctionName().equals("constructor")) {
                         constructors.add(cast);
-                        body.getChildren().remove(node);
+                        return null;
                     }
                 } else if (node instanceof VirtualFunctionDeclarationNode) {
                     virtualFunctions.add((VirtualFunctionDeclarationNode) node);
-                    body.getChildren().remove(node);
+                    return null;
                 }
-            }
+                return node;
+            });
 
             return new VirtualClassDeclarationNode(name, inheritedClass, extendedClass, fileName, constructors, virtualFunctions, body).setLine(line);
         }
@@ -0,0 +1,357 @@
+package me.kuwg.clarity.parser;
+
+import me.kuwg.clarity.ast.AST;
+import me.kuwg.clarity.ast.ASTNode;
+import me.kuwg.clarity.ast.nodes.block.*;
+import me.kuwg.clarity.ast.nodes.clazz.ClassDeclarationNode;
+import me.kuwg.clarity.ast.nodes.clazz.ClassInstantiationNode;
+import me.kuwg.clarity.ast.nodes.clazz.NativeClassDeclarationNode;
+import me.kuwg.clarity.ast.nodes.clazz.cast.NativeCastNode;
+import me.kuwg.clarity.ast.nodes.clazz.virtual.VirtualClassDeclarationNode;
+import me.kuwg.clarity.ast.nodes.expression.BinaryExpressionNode;
+import me.kuwg.clarity.ast.nodes.function.call.*;
+import me.kuwg.clarity.ast.nodes.function.declare.FunctionDeclarationNode;
+import me.kuwg.clarity.ast.nodes.function.declare.ParameterNode;
+import me.kuwg.clarity.ast.nodes.literal.ArrayNode;
+import me.kuwg.clarity.ast.nodes.member.MemberFunctionCallNode;
+import me.kuwg.clarity.ast.nodes.statements.*;
+import me.kuwg.clarity.ast.nodes.variable.assign.LocalVariableReassignmentNode;
+import me.kuwg.clarity.ast.nodes.variable.assign.ObjectVariableReassignmentNode;
+import me.kuwg.clarity.ast.nodes.variable.assign.VariableDeclarationNode;
+import me.kuwg.clarity.ast.nodes.variable.assign.VariableReassignmentNode;
+import me.kuwg.clarity.ast.nodes.variable.get.ObjectVariableReferenceNode;
+import me.kuwg.clarity.ast.nodes.variable.get.VariableReferenceNode;
+
+import java.util.*;
+
+/**
+ * Binds variable accesses to a (depth, slot) pair so the interpreter can reach them without hashing names.
+ * <p>
+ * Every function, lambda, loop and try/except body opens a scope whose context gets a fixed frame; depth counts the
+ * contexts between the access and the scope that declares the variable. Only variables that are declared exactly once,
+ * unconditionally and before the access are slotted: anything else (declarations inside if/select/async blocks, deleted
+ * variables, names coming from callers or classes) keeps the usual name lookup, so the dynamic scoping rules stay the same.
+ * </p>
+ */
+public final class ScopeResolver {
+
+    private final Deque<Runnable> pending = new ArrayDeque<>();
+    private final List<Access> accesses = new ArrayList<>();
+    private final Set<String> deleted = new HashSet<>();
+
+    private ScopeResolver() {
+    }
+
+    /**
+     * Resolves every function, lambda and class of the tree.
+     *
+     * @param ast     the parsed tree
+     * @param program whether the root is run as the program, in which case its top level is resolved too
+     */
+    public static void resolve(final AST ast, final boolean program) {
+        final ScopeResolver resolver = new ScopeResolver();
+        final BlockNode root = ast.getRoot();
+
+        resolver.pending.add(() -> {
+            final Scope scope = new Scope(null, !program);
+            resolver.statements(root.getChildren(), 0, scope);
+            root.setFrame(scope.frame());
+            resolver.bind();
+        });
+
+        while (!resolver.pending.isEmpty()) {
+            resolver.pending.poll().run();
+        }
+    }
+
+    /**
+     * Resolves the body of a function on its own, for bodies loaded after the tree they belong to.
+     *
+     * @param params the parameters of the function
+     * @param block  the body
+     */
+    public static void resolveFunction(final List<ParameterNode> params, final BlockNode block) {
+        final ScopeResolver resolver = new ScopeResolver();
+        resolver.function(params, block);
+
+        while (!resolver.pending.isEmpty()) {
+            resolver.pending.poll().run();
+        }
+    }
+
+    private void function(final List<ParameterNode> params, final BlockNode block) {
+        if (block == null) return;
+        final Scope scope = new Scope(null, false);
+        for (final ParameterNode param : params) scope.declare(param.getName(), -1, null);
+        statements(block.getChildren(), 0, scope);
+        block.setFrame(scope.frame());
+        bind();
+    }
+
+    private void bind() {
+        for (final Access access : accesses) {
+            access.bind(deleted);
+        }
+        accesses.clear();
+        deleted.clear();
+    }
+
+    private void statements(final List<ASTNode> nodes, final int start, final Scope scope) {
+        int position = start;
+        for (final ASTNode node : nodes) {
+            scope.position = position;
+            if (node instanceof VariableDeclarationNode) {
+                final VariableDeclarationNode declaration = (VariableDeclarationNode) node;
+                visit(declaration.getValue(), scope);
+                scope.declare(declaration.getName(), position, declaration);
+            } else {
+                visit(node, scope);
+            }
+            position++;
+        }
+        scope.position = position;
+    }
+
+    private void block(final BlockNode block, final Scope scope) {
+        if (block == null) return;
+        for (final ASTNode node : block) visit(node, scope);
+    }
+
+    private void visitAll(final List<? extends ASTNode> nodes, final Scope scope) {
+        if (nodes == null) return;
+        for (final ASTNode node : nodes) visit(node, scope);
+    }
+
+    private void visit(final ASTNode node, final Scope scope) {
+        if (node == null) return;
+
+        if (node instanceof VariableReferenceNode) {
+            final VariableReferenceNode reference = (VariableReferenceNode) node;
+            accesses.add(new Access(reference.getName(), scope, reference::resolve));
+        } else if (node instanceof VariableReassignmentNode) {
+            final VariableReassignmentNode reassignment = (VariableReassignmentNode) node;
+            visit(reassignment.getValue(), scope);
+            accesses.add(new Access(reassignment.getName(), scope, reassignment::resolve));
+        } else if (node instanceof VariableDeclarationNode) {
+            // not a statement of its scope: it may or may not run, so the name can't be slotted
+            final VariableDeclarationNode declaration = (VariableDeclarationNode) node;
+            visit(declaration.getValue(), scope);
+            scope.unsafe.add(declaration.getName());
+            declaration.resolve(-1);
+        } else if (node instanceof DeleteVariableNode) {
+            deleted.add(((DeleteVariableNode) node).getName());
+        } else if (node instanceof BinaryExpressionNode) {
+            visit(((BinaryExpressionNode) node).getLeft(), scope);
+            visit(((BinaryExpressionNode) node).getRight(), scope);
+        } else if (node instanceof FunctionCallNode) {
+            visitAll(((FunctionCallNode) node).getParams(), scope);
+        } else if (node instanceof AwaitFunctionCallNode) {
+            visitAll(((AwaitFunctionCallNode) node).getFunctionCallNode().getParams(), scope);
+        } else if (node instanceof DefaultNativeFunctionCallNode) {
+            visitAll(((DefaultNativeFunctionCallNode) node).getParams(), scope);
+        } else if (node instanceof PackagedNativeFunctionCallNode) {
+            visitAll(((PackagedNativeFunctionCallNode) node).getParams(), scope);
+        } else if (node instanceof ObjectFunctionCallNode) {
+            visitAll(((ObjectFunctionCallNode) node).getParams(), scope);
+        } else if (node instanceof MemberFunctionCallNode) {
+            visit(((MemberFunctionCallNode) node).getCaller(), scope);
+            visitAll(((MemberFunctionCallNode) node).getParams(), scope);
+        } else if (node instanceof ClassInstantiationNode) {
+            visitAll(((ClassInstantiationNode) node).getParams(), scope);
+        } else if (node instanceof ArrayNode) {
+            visitAll(((ArrayNode) node).getNodes(), scope);
+        } else if (node instanceof ObjectVariableReferenceNode) {
+            visit(((ObjectVariableReferenceNode) node).getCaller(), scope);
+        } else if (node instanceof ObjectVariableReassignmentNode) {
+            visit(((ObjectVariableReassignmentNode) node).getCaller(), scope);
+            visit(((ObjectVariableReassignmentNode) node).getValue(), scope);
+        } else if (node instanceof LocalVariableReassignmentNode) {
+            visit(((LocalVariableReassignmentNode) node).getValue(), scope);
+        } else if (node instanceof NativeCastNode) {
+            visit(((NativeCastNode) node).getCasted(), scope);
+        } else if (node instanceof IsNode) {
+            visit(((IsNode) node).getExpression(), scope);
+        } else if (node instanceof TernaryOperatorNode) {
+            final TernaryOperatorNode ternary = (TernaryOperatorNode) node;
+            visit(ternary.getCondition(), scope);
+            visit(ternary.getTrueBranch(), scope);
+            visit(ternary.getFalseBranch(), scope);
+        } else if (node instanceof ReturnNode) {
+            visit(((ReturnNode) node).getValue(), scope);
+        } else if (node instanceof ConditionedReturnNode) {
+            visit(((ConditionedReturnNode) node).getValue(), scope);
+            visit(((ConditionedReturnNode) node).getCondition(), scope);
+        } else if (node instanceof RaiseNode) {
+            visit(((RaiseNode) node).getException(), scope);
+        } else if (node instanceof AssertNode) {
+            visit(((AssertNode) node).getCondition(), scope);
+            visit(((AssertNode) node).getOrElse(), scope);
+        } else if (node instanceof DeleteFunctionNode) {
+            visit(((DeleteFunctionNode) node).getParams(), scope);
+        } else if (node instanceof IfNode) {
+            final IfNode ifNode = (IfNode) node;
+            visit(ifNode.getCondition(), scope);
+            block(ifNode.getIfBlock(), scope);
+            visitAll(ifNode.getElseIfStatements(), scope);
+            block(ifNode.getElseBlock(), scope);
+        } else if (node instanceof SelectNode) {
+            final SelectNode select = (SelectNode) node;
+            visit(select.getCondition(), scope);
+            for (final SelectNode.WhenNode when : select.getCases()) {
+                visit(when.getWhenExpression(), scope);
+                block(when.getBlock(), scope);
+            }
+            block(select.getBlock(), scope);
+        } else if (node instanceof AsyncBlockNode) {
+            visit(((AsyncBlockNode) node).getName(), scope);
+            block(((AsyncBlockNode) node).getBlock(), scope);
+        } else if (node instanceof AwaitBlockNode) {
+            block(((AwaitBlockNode) node).getBlock(), scope);
+        } else if (node instanceof StaticBlockNode) {
+            block(((StaticBlockNode) node).getBlock(), scope);
+        } else if (node instanceof BlockNode) {
+            block((BlockNode) node, scope);
+        } else if (node instanceof WhileNode) {
+            final WhileNode whileNode = (WhileNode) node;
+            final Scope whileScope = new Scope(scope, false);
+            visit(whileNode.getCondition(), whileScope);
+            statements(whileNode.getBlock().getChildren(), 1, whileScope);
+            whileNode.getBlock().setFrame(whileScope.frame());
+        } else if (node instanceof ForNode) {
+            final ForNode forNode = (ForNode) node;
+            final Scope forScope = new Scope(scope, false);
+            statements(forNode.getDeclaration() != null ? Collections.singletonList(forNode.getDeclaration()) : Collections.emptyList(), 0, forScope);
+            visit(forNode.getCondition(), forScope);
+            forScope.position++;
+            final Scope blockScope = new Scope(forScope, false);
+            statements(forNode.getBlock().getChildren(), 0, blockScope);
+            visit(forNode.getIncrementation(), blockScope);
+            forNode.setFrame(forScope.frame());
+            forNode.getBlock().setFrame(blockScope.frame());
+        } else if (node instanceof ForeachNode) {
+            final ForeachNode foreach = (ForeachNode) node;
+            visit(foreach.getList(), scope);
+            final Scope foreachScope = new Scope(scope, false);
+            foreachScope.declare(foreach.getVariable(), -1, null);
+            statements(foreach.getBlock().getChildren(), 0, foreachScope);
+            foreach.getBlock().setFrame(foreachScope.frame());
+        } else if (node instanceof TryExceptBlock) {
+            final TryExceptBlock tryExcept = (TryExceptBlock) node;
+            if (tryExcept.getTryBlock() != null) {
+                final Scope tryScope = new Scope(scope, false);
+                statements(tryExcept.getTryBlock().getChildren(), 0, tryScope);
+                tryExcept.getTryBlock().setFrame(tryScope.frame());
+            }
+            if (tryExcept.getExceptBlock() != null) {
+                final Scope exceptScope = new Scope(scope, false);
+                exceptScope.declare(tryExcept.getExcepted(), -1, null);
+                statements(tryExcept.getExceptBlock().getChildren(), 0, exceptScope);
+                tryExcept.getExceptBlock().setFrame(exceptScope.frame());
+            }
+        } else if (node instanceof LambdaBlockNode) {
+            final LambdaBlockNode lambda = (LambdaBlockNode) node;
+            pending.add(() -> function(lambda.getParams(), lambda.getBlock()));
+        } else if (node instanceof FunctionDeclarationNode) {
+            function((FunctionDeclarationNode) node);
+        } else if (node instanceof ClassDeclarationNode) {
+            members(((ClassDeclarationNode) node).getConstructors(), ((ClassDeclarationNode) node).getBlock());
+        } else if (node instanceof NativeClassDeclarationNode) {
+            members(((NativeClassDeclarationNode) node).getConstructors(), ((NativeClassDeclarationNode) node).getBlock());
+        } else if (node instanceof VirtualClassDeclarationNode) {
+            members(((VirtualClassDeclarationNode) node).getConstructors(), ((VirtualClassDeclarationNode) node).getBlock());
+        }
+        // local calls evaluate their parameters in the parent context, includes and other declarations are left alone
+    }
+
+    private void members(final List<FunctionDeclarationNode> constructors, final BlockNode body) {
+        if (constructors != null) {
+            for (final FunctionDeclarationNode constructor : constructors) function(constructor);
+        }
+        if (body == null) return;
+        for (final ASTNode member : body) {
+            if (member instanceof FunctionDeclarationNode) function((FunctionDeclarationNode) member);
+        }
+    }
+
+    private void function(final FunctionDeclarationNode function) {
+        // lazily loaded bodies are resolved when they are decoded
+        if (function.isLoaded()) pending.add(() -> function(function.getParameterNodes(), function.getBlock()));
+    }
+
+    private interface Binding {
+        void bind(final int depth, final int slot);
+    }
+
+    private static final class Scope {
+        private final Scope parent;
+        private final boolean opaque;
+
+        private final Map<String, Integer> declared = new LinkedHashMap<>();
+        private final Map<String, VariableDeclarationNode> declarations = new HashMap<>();
+        private final Set<String> unsafe = new HashSet<>();
+        private final List<String> slots = new ArrayList<>();
+
+        private int position;
+
+        private Scope(final Scope parent, final boolean opaque) {
+            this.parent = parent;
+            this.opaque = opaque;
+        }
+
+        private void declare(final String name, final int position, final VariableDeclarationNode declaration) {
+            if (declaration != null) declaration.resolve(-1);
+            if (name == null || name.equals("_")) return;
+            if (declared.putIfAbsent(name, position) != null) unsafe.add(name);
+            if (declaration != null) {
+                if (declarations.putIfAbsent(name, declaration) != null) unsafe.add(name);
+            }
+        }
+
+        private String[] frame() {
+            if (opaque) return null;
+            for (final Map.Entry<String, Integer> entry : declared.entrySet()) {
+                final String name = entry.getKey();
+                if (unsafe.contains(name)) continue;
+                final VariableDeclarationNode declaration = declarations.get(name);
+                if (declaration != null) declaration.resolve(slots.size());
+                slots.add(name);
+            }
+            return slots.isEmpty() ? null : slots.toArray(new String[0]);
+        }
+    }
+
+    private static final class Access {
+        private final String name;
+        private final Scope scope;
+        private final int[] positions;
+        private final Binding binding;
+
+        private Access(final String name, final Scope scope, final Binding binding) {
+            this.name = name;
+            this.scope = scope;
+            this.binding = binding;
+
+            int depth = 0;
+            for (Scope s = scope; s != null; s = s.parent) depth++;
+            this.positions = new int[depth];
+            int i = 0;
+            for (Scope s = scope; s != null; s = s.parent) positions[i++] = s.position;
+        }
+
+        private void bind(final Set<String> deleted) {
+            binding.bind(-1, -1);
+            if (deleted.contains(name)) return;
+
+            int depth = 0;
+            for (Scope s = scope; s != null && !s.opaque; s = s.parent, depth++) {
+                final Integer position = s.declared.get(name);
+                if (position == null && !s.unsafe.contains(name)) continue;
+
+                if (position != null && position < positions[depth] && !s.unsafe.contains(name)) {
+                    binding.bind(depth, s.slots.indexOf(name));
+                }
+                return;
+            }
+        }
+    }
+}
@@ -1,20 +1,60 @@
 package me.kuwg.clarity.register;
 
+import me.kuwg.clarity.interpreter.Interpreter;
+import me.kuwg.clarity.interpreter.context.Context;
+import me.kuwg.clarity.util.ConsoleOutput;
+
+import java.util.List;
+import java.util.function.Supplier;
+
 /**
  * A utility class that handles function and method call registration, error reporting,
  * and exception handling within the Clarity environment.
  * <p>
- * This class maintains a {@link RegisterStack} to keep track of function calls and other
+ * This class maintains a {@link RegisterStack} per thread to keep track of function calls and other
  * operations, and provides methods for logging errors, throwing exceptions, and printing
  * the current state of the register stack.
  * </p>
+ * <p>
+ * Elements keep references to the called name and parameters and are only formatted when the
+ * register is printed, so tracing a call costs a few field writes. Tracing can be turned off
+ * entirely with {@link #setEnabled(boolean)}.
+ * </p>
  */
 public final class Register {
 
     /**
-     * The register stack that holds elements representing various operations.
+     * The register stacks that hold elements representing various operations, one for each thread.
+     */
+    private static final ThreadLocal<RegisterStack> stacks = ThreadLocal.withInitial(() -> new RegisterStack(20));
+
+    /**
+     * Whether the errors thrown by the current thread are deferred, see {@link #deferred(Supplier)}.
+     */
+    private static final ThreadLocal<Boolean> deferring = ThreadLocal.withInitial(() -> false);
+
+    /**
+     * Whether operations are registered at all.
+     */
+    private static boolean enabled = true;
+
+    /**
+     * Enables or disables the register, it should be set before interpreting.
+     *
+     * @param enabled Whether operations should be registered.
      */
-    private static final RegisterStack stack = new RegisterStack(20);
+    public static void setEnabled(final boolean enabled) {
+        Register.enabled = enabled;
+    }
+
+    /**
+     * Returns whether operations are registered.
+     *
+     * @return {@code true} if the register is enabled.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
 
     /**
      * Registers a new {@link RegisterElement} into the register stack.
@@ -25,16 +65,31 @@ public final class Register {
      * @param currentClass The current context class.
      */
     public static void register(final RegisterElementType type, final String param, final int line, final String currentClass) {
-        stack.push(new RegisterElement(type, param, line, currentClass));
+        if (!enabled) return;
+        stacks.get().push(type, param, null, line, currentClass);
+    }
+
+    /**
+     * Registers a call into the register stack, its parameters are only formatted if the register gets printed.
+     *
+     * @param type The element type.
+     * @param name The called name.
+     * @param params The call parameters, formatted as with {@link Interpreter#getParams(List)}.
+     * @param line The current node line.
+     * @param context The current context, used for its class.
+     */
+    public static void register(final RegisterElementType type, final String name, final List<?> params, final int line, final Context context) {
+        if (!enabled) return;
+        stacks.get().push(type, name, params, line, context.getCurrentClassName());
     }
 
     /**
-     * Retrieves the current register stack.
+     * Retrieves the register stack of the current thread.
      *
      * @return The current {@link RegisterStack}.
      */
     public static RegisterStack getStack() {
-        return stack;
+        return stacks.get();
     }
 
     /**
@@ -48,6 +103,7 @@ public final class Register {
      * @param line    The line number where the error occurred.
      */
     public static void throwException(final String message, final String line) {
+        if (deferring.get()) throw new RegisterException(message, line);
         error(message, line);
         printRegister();
         exit();
@@ -64,12 +120,43 @@ public final class Register {
      * @param message The error message to display.
      */
     public static void throwException(final String message) {
+        if (deferring.get()) throw new RegisterException(message, null);
         error(message);
         printRegister();
         exit();
         raise();
     }
 
+    /**
+     * Runs a task whose errors are reported later, by another thread. While it runs, the exceptions thrown on the
+     * current thread raise a {@link RegisterException} holding the error, without printing it or exiting.
+     *
+     * @param task The task, usually running on a worker thread.
+     * @return The result of the task.
+     * @see #rethrow(RegisterException)
+     */
+    public static <T> T deferred(final Supplier<T> task) {
+        final boolean previous = deferring.get();
+        deferring.set(true);
+        try {
+            return task.get();
+        } finally {
+            deferring.set(previous);
+        }
+    }
+
+    /**
+     * Throws the error held by an exception raised in {@link #deferred(Supplier)}, with the register of the current
+     * thread. Exceptions raised after an error was printed are rethrown as they are.
+     *
+     * @param exception The exception.
+     */
+    public static void rethrow(final RegisterException exception) {
+        if (exception.getError() == null) throw exception;
+        if (exception.getLine() == null) throwException(exception.getError());
+        else throwException(exception.getError(), exception.getLine());
+    }
+
     /**
      * Throws an exception with a message and line number, and the current state of the register.
      * <p>
@@ -90,6 +177,7 @@ public final class Register {
      * @param message The error message to display.
      */
     private static void error(final String message) {
+        ConsoleOutput.flush();
         System.err.println("An error occurred: " + message);
     }
 
@@ -100,6 +188,7 @@ public final class Register {
      * @param line    The line number where the error occurred.
      */
     private static void error(final String message, final String line) {
+        ConsoleOutput.flush();
         System.err.println("An error occurred: " + message + "\nAt line " + line);
     }
 
@@ -111,6 +200,11 @@ public final class Register {
      * </p>
      */
     private static void printRegister() {
+        if (!enabled) {
+            System.err.println("Register is disabled.");
+            return;
+        }
+        final RegisterStack stack = stacks.get();
         if (!stack.isEmpty()) {
             System.err.println("Register:");
             for (int i = stack.size() - 1; i >= 0; i--) System.err.println("    " + stack.pop());
@@ -153,14 +247,16 @@ public final class Register {
      * Represents an element in the register stack.
      * <p>
      * Each element has a type, a parameter (such as a method or function name), a line number,
-     * and the name of the class in which the operation occurred.
+     * and the name of the class in which the operation occurred. The stack reuses its elements,
+     * overwriting the oldest one with {@link #set}.
      * </p>
      */
     public static class RegisterElement {
-        private final RegisterElementType type;
-        private final String param;
-        private final int line;
-        private final String currentClass;
+        private RegisterElementType type;
+        private String param;
+        private List<?> params;
+        private int line;
+        private String currentClass;
 
         /**
          * Constructs a new {@link RegisterElement} with the specified type, parameter, line number,
@@ -172,8 +268,18 @@ public final class Register {
          * @param currentClass The name of the class in which the operation occurred.
          */
         public RegisterElement(final RegisterElementType type, final String param, final int line, final String currentClass) {
+            set(type, param, null, line, currentClass);
+        }
+
+        /**
+         * Replaces the content of this element.
+         *
+         * @param params The call parameters appended to the parameter when formatted, or null for none.
+         */
+        final void set(final RegisterElementType type, final String param, final List<?> params, final int line, final String currentClass) {
             this.type = type;
             this.param = param;
+            this.params = params;
             this.line = line;
             this.currentClass = currentClass;
         }
@@ -193,7 +299,7 @@ public final class Register {
          * @return The parameter or name of the operation (e.g., method name).
          */
         public final String getParam() {
-            return param;
+            return params != null ? param + Interpreter.getParams(params) : param;
         }
 
         /**
@@ -10,13 +10,19 @@ package me.kuwg.clarity.register;
  * internally to indicate a critical failure in the Clarity interpreter's register
  * operations.
  * </p>
+ * <p>
+ * Raised in {@link Register#deferred(java.util.function.Supplier)}, it holds an error that was not printed yet,
+ * reported by {@link Register#rethrow(RegisterException)}.
+ * </p>
  *
  * @author NotKuwg
  * @see Register#raise()
  */
-@SuppressWarnings("unused")
 public final class RegisterException extends RuntimeException {
 
+    private final String error;
+    private final String line;
+
     /**
      * Constructs a new {@code RegisterException}.
      * <p>
@@ -25,5 +31,33 @@ public final class RegisterException extends RuntimeException {
      * </p>
      */
     RegisterException() {
+        this(null, null);
+    }
+
+    /**
+     * Constructs a new {@code RegisterException} holding an error that was not printed yet.
+     *
+     * @param error The error message.
+     * @param line  The line of the error, or null.
+     * @see Register#deferred(java.util.function.Supplier)
+     */
+    RegisterException(final String error, final String line) {
+        super(error);
+        this.error = error;
+        this.line = line;
+    }
+
+    /**
+     * Returns the error that was not printed yet, or null if it was.
+     */
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * Returns the line of the error that was not printed yet, or null.
+     */
+    public String getLine() {
+        return line;
     }
 }
\ No newline at end of file
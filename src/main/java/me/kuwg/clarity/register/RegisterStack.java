@@ -1,5 +1,7 @@
 package me.kuwg.clarity.register;
 
+import java.util.List;
+
 /**
  * A stack data structure for storing {@link Register.RegisterElement} objects, with a fixed maximum size.
  * <p>
@@ -53,6 +55,18 @@ public final class RegisterStack {
         elements[top] = element;
     }
 
+    /**
+     * Pushes a new element onto the stack, reusing the element it overwrites instead of allocating one.
+     *
+     * @see #push(Register.RegisterElement)
+     */
+    void push(final Register.RegisterElementType type, final String param, final List<?> params, final int line, final String currentClass) {
+        top = (top + 1) % maxSize;
+        Register.RegisterElement element = elements[top];
+        if (element == null) element = elements[top] = new Register.RegisterElement(type, param, line, currentClass);
+        element.set(type, param, params, line, currentClass);
+    }
+
     /**
      * Pops the top element from the stack.
      * <p>
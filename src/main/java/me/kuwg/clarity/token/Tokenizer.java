@@ -7,6 +7,11 @@ import java.util.regex.Matcher;
 /**
  * Tokenizer class responsible for parsing a source string into a list of tokens.
  * The class uses a predefined set of token types to identify valid tokens.
+ * <p>
+ * The source is scanned with a single cursor: every {@link TokenType} pattern gets one
+ * {@link Matcher} over the whole source, and each step only moves the matcher region forward,
+ * so the remaining source is never copied and tokenizing stays linear in the input size.
+ * </p>
  */
 public final class Tokenizer {
 
@@ -20,45 +25,57 @@ public final class Tokenizer {
      * @throws IllegalArgumentException if an unexpected character is encountered in the input
      */
     public static List<Token> tokenize(final String src) {
+        final String source = src.replace(';', ' ');
+        final int length = source.length();
+
+        final TokenType[] types = TokenType.VALUES;
+        final Matcher[] matchers = new Matcher[types.length];
+        for (int i = 0; i < types.length; i++) {
+            matchers[i] = types[i].getPattern().matcher(source);
+        }
+
         final List<Token> tokens = new ArrayList<>();
-        String remainingSrc = src.replaceAll(";", " ");
         int line = 1;
+        int cursor = 0;
 
-        while (!remainingSrc.isEmpty()) {
+        while (cursor < length) {
             boolean matched = false;
-            for (final TokenType type : TokenType.VALUES) {
-                final Matcher matcher = type.getPattern().matcher(remainingSrc);
-                if (matcher.lookingAt()) {
-
-                    final String rawValue = matcher.group();
+            for (int i = 0; i < types.length; i++) {
+                // opaque, anchoring region: patterns see the cursor as the start of the input,
+                // exactly like matching against the remaining source did
+                final Matcher matcher = matchers[i].region(cursor, length);
+                if (!matcher.lookingAt()) continue;
 
-                    // Process numbers to handle underscores in numeric literals
-                    final String tokenValue = type.equals(TokenType.NUMBER) ? String.valueOf(processNumber(rawValue.replace("_", ""))) : rawValue;
+                final TokenType type = types[i];
+                final int end = matcher.end();
 
-                    if (type == TokenType.NEWLINE) {
-                        line++; // Increment line number for newline tokens
-                    } else if (type == TokenType.COMMENT) {
-                        // Adjust line count for multiline comments
-                        int lines = 1;
-                        int pos = 0;
-                        while ((pos = tokenValue.indexOf("\n", pos) + 1) != 0) {
-                            lines++;
-                        }
-                        line += lines;
-                    } else if (type != TokenType.WHITESPACE) {
-                        // Add non-whitespace tokens to the list
-                        tokens.add(new Token(type, tokenValue, line));
+                if (type == TokenType.NEWLINE) {
+                    line++; // Increment line number for newline tokens
+                } else if (type == TokenType.COMMENT) {
+                    // Adjust line count for multiline comments
+                    int lines = 1;
+                    for (int c = cursor; c < end; c++) {
+                        if (source.charAt(c) == '\n') lines++;
                     }
+                    line += lines;
+                } else if (type != TokenType.WHITESPACE) {
+                    final String rawValue = source.substring(cursor, end);
+
+                    // Process numbers to handle underscores in numeric literals
+                    final String tokenValue = type == TokenType.NUMBER ? String.valueOf(processNumber(rawValue.replace("_", ""))) : rawValue;
 
-                    remainingSrc = remainingSrc.substring(rawValue.length());
-                    matched = true;
-                    break;
+                    // Add non-whitespace tokens to the list
+                    tokens.add(new Token(type, tokenValue, line));
                 }
+
+                cursor = end;
+                matched = true;
+                break;
             }
 
             // Throw exception if no token pattern matches the current input
             if (!matched) {
-                throw new IllegalArgumentException("Unexpected character in input at line " + line + ": " + remainingSrc);
+                throw new IllegalArgumentException("Unexpected character in input at line " + line + ": " + source.substring(cursor));
             }
         }
         return tokens;
@@ -46,6 +46,7 @@ public final class ClassUtil {
         context.setCurrentClassName(className);
 
         final Context classContext = new Context(context);
+        classContext.retain();
 
         final ObjectType raw = context.getClass(className);
         if (raw == VOID_OBJECT) {
@@ -66,7 +67,7 @@ public final class ClassUtil {
             context.setCurrentClassName(className);
 
             final FunctionDefinition[] inheritedConstructors = inheritedClass.getConstructors();
-            inheritedObject = INTERPRETER.interpretConstructors(inheritedObject, inheritedConstructors, Arrays.asList(constructorParams), classContext, inheritedClass.getName());
+            inheritedObject = INTERPRETER.interpretConstructors(inheritedObject, inheritedConstructors, Arrays.asList(constructorParams), classContext, inheritedClass);
             classContext.mergeContext(inheritedObject.getContext());
 
             currentDefinition = inheritedClass;
@@ -76,7 +77,7 @@ public final class ClassUtil {
 
         if (val != VOID_OBJECT) INTERPRETER.except("Return in class body", -404);
 
-        final ClassObject result = INTERPRETER.interpretConstructors(inheritedObject, definition.getConstructors(), Arrays.asList(constructorParams), classContext, className);
+        final ClassObject result = INTERPRETER.interpretConstructors(inheritedObject, definition.getConstructors(), Arrays.asList(constructorParams), classContext, definition);
         context.setCurrentClassName(ocn);
         return result;
     }
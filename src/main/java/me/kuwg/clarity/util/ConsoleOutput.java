@@ -0,0 +1,50 @@
+package me.kuwg.clarity.util;
+
+import java.io.BufferedOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+
+/**
+ * Buffering of the standard output, enabled by the {@code bufferedoutput} option.
+ *
+ * <p>The default {@link System#out} flushes at every line, which makes printing many lines bound by the writes to the
+ * console. When buffered, the output is only written when the buffer is full, when {@link #flush()} is called (on
+ * {@code input()}, the {@code flush()} native and before errors are printed) and when the JVM exits.</p>
+ */
+public final class ConsoleOutput {
+
+    /**
+     * The size of the output buffer, in bytes.
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private static volatile boolean buffered;
+
+    /**
+     * Not instantiable.
+     */
+    private ConsoleOutput() throws RuntimeException {
+        throw new RuntimeException("You can't instantiate this class!");
+    }
+
+    /**
+     * Replaces {@link System#out} with a buffered stream over the standard output, flushed when the JVM exits.
+     * Calling it again does nothing.
+     */
+    public static synchronized void buffer() {
+        if (buffered) return;
+        buffered = true;
+
+        System.out.flush();
+        System.setOut(new PrintStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out), BUFFER_SIZE), false));
+        Runtime.getRuntime().addShutdownHook(new Thread(ConsoleOutput::flush, "Clarity Output Flush"));
+    }
+
+    /**
+     * Writes the buffered output, if any, so it shows before anything read or printed to the standard error.
+     */
+    public static void flush() {
+        if (buffered) System.out.flush();
+    }
+}
@@ -0,0 +1,4 @@
+package me.kuwg.clarity.util;
+
+public @interface Debugging {
+}
@@ -33,7 +33,7 @@ public final class LambdaUtil {
      * @return The result of executing the lambda's block, or a {@link VoidObject} if an exception occurs.
      */
     public static Object callLambda(final LambdaObject object, final List<Object> params, final Context context) {
-        final Context lambdaContext = new Context(context);
+        final Context lambdaContext = new Context(context, object.getBlock().getFrame());
 
         for (int i = 0; i < params.size(); i++) {
             final Object obj = params.get(i);
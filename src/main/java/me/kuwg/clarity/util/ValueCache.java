@@ -0,0 +1,57 @@
+package me.kuwg.clarity.util;
+
+/**
+ * Canonical boxed values shared by the Clarity interpreter.
+ *
+ * <p>Integer results in a small range are returned from a preallocated table instead of allocating a new
+ * {@link Long} each time, which keeps counting loops from churning through short-lived boxes.</p>
+ */
+public final class ValueCache {
+
+    /**
+     * The smallest integer held in the cache.
+     */
+    public static final long LOW = -1024;
+
+    /**
+     * The largest integer held in the cache.
+     */
+    public static final long HIGH = 65535;
+
+    public static final Object[] EMPTY_ARRAY = new Object[0];
+
+    private static final Long[] LONGS = new Long[(int) (HIGH - LOW + 1)];
+
+    static {
+        for (int i = 0; i < LONGS.length; i++) {
+            LONGS[i] = LOW + i;
+        }
+    }
+
+    /**
+     * Not instantiable.
+     */
+    private ValueCache() throws RuntimeException {
+        throw new RuntimeException("You can't instantiate this class!");
+    }
+
+    /**
+     * Boxes an integer, reusing the cached instance when it is in {@code [LOW, HIGH]}.
+     *
+     * @param value The value to box.
+     * @return The boxed value.
+     */
+    public static Long box(final long value) {
+        return value >= LOW && value <= HIGH ? LONGS[(int) (value - LOW)] : Long.valueOf(value);
+    }
+
+    /**
+     * Boxes a boolean into {@link Boolean#TRUE} or {@link Boolean#FALSE}.
+     *
+     * @param value The value to box.
+     * @return The canonical boxed value.
+     */
+    public static Boolean box(final boolean value) {
+        return value ? Boolean.TRUE : Boolean.FALSE;
+    }
+}